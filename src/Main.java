@@ -1,7 +1,14 @@
+import algos.AdaptiveSolver;
+import algos.BatchQueryExecutor;
 import algos.Dijkstra;
+import algos.DijkstraBucket;
 import algos.Kruskal;
 import algos.DijkstraMaxHeap;
+import algos.WidestPathEngine;
+import datastruct.CsrGraph;
+import datastruct.Graph;
 import datastruct.LinkedList;
+import datastruct.MutableCsrGraph;
 
 import java.util.Arrays;
 import java.util.Random;
@@ -10,6 +17,8 @@ import static datastruct.TestGraphs.*;
 
 public class Main {
     public static void main(String[] args) {
+        checkSpecialEdges();
+
         int seed = 123;
         int nVertices = 5000;
         int nRuns = 5;
@@ -17,7 +26,7 @@ public class Main {
         Random rdm = new Random(seed);
 
         LinkedList[] g = new LinkedList[nVertices];
-        // one for each of the three algorithms + one for DFS
+        // one for each of the three algorithms + one for the Kruskal query alone (a lookup in its index)
         double [][] tG1 = new double[4][nRuns*nPairs];
         double [][] tG2 = new double[4][nRuns*nPairs];
         double [][] t = new double[4][nRuns*nPairs];
@@ -114,8 +123,8 @@ public class Main {
         for(int i=0; i< tG1.length; i++) {
             meanTG1[i] /= tG1[0].length;
         }
-        System.out.println("Total running time G1 (Dijkstra, DijkstraMaxHeap, Kruskal, DFS): " + Arrays.toString(meanTG1));
-        System.out.println("Full info running time G1 (Dijkstra, DijkstraMaxHeap, Kruskal, DFS): \n" + s);
+        System.out.println("Total running time G1 (Dijkstra, DijkstraMaxHeap, Kruskal, Kruskal query): " + Arrays.toString(meanTG1));
+        System.out.println("Full info running time G1 (Dijkstra, DijkstraMaxHeap, Kruskal, Kruskal query): \n" + s);
 
         // calculate mean times for g2
         s = new StringBuffer();
@@ -132,10 +141,126 @@ public class Main {
         for(int i=0; i< tG2.length; i++) {
             meanTG2[i] /= tG2[0].length;
         }
-        System.out.println("Total running time G2 (Dijkstra, DijkstraMaxHeap, Kruskal, DFS): " + Arrays.toString(meanTG2));
-        System.out.println("Full info running time G2 (Dijkstra, DijkstraMaxHeap, Kruskal, DFS): \n" + s);
+        System.out.println("Total running time G2 (Dijkstra, DijkstraMaxHeap, Kruskal, Kruskal query): " + Arrays.toString(meanTG2));
+        System.out.println("Full info running time G2 (Dijkstra, DijkstraMaxHeap, Kruskal, Kruskal query): \n" + s);
+    }
+
+    /**
+     * Checks the algorithms on graphs with parallel edges and self loops (also at the source)
+     */
+    private static void checkSpecialEdges() {
+        // 0-1 with weights 5 and 3, self loop at 0, 1-2 with weight 4
+        Graph g = new CsrGraph.Builder(3)
+                .addEdge(0, 1, 5)
+                .addEdge(0, 1, 3)
+                .addEdge(0, 0, 9)
+                .addEdge(1, 2, 4)
+                .build();
+        LinkedList[] l = new LinkedList[3];
+        for(int k=0; k < 3; k++)
+            l[k] = new LinkedList();
+        l[0].add(1, 5); l[1].add(0, 5);
+        l[0].add(1, 3); l[1].add(0, 3);
+        l[0].add(0, 9); l[0].add(0, 9);
+        l[1].add(2, 4); l[2].add(1, 4);
+        double[] expected = {Double.POSITIVE_INFINITY, 5, 4};
+        for(int k=0; k < 3; k++) {
+            if(new Dijkstra(g, 0).getBandWidth(k) != expected[k] || new Dijkstra(l, 0).getBandWidth(k) != expected[k]
+                    || new DijkstraMaxHeap(g, 0).getBandWidth(k) != expected[k]
+                    || new DijkstraMaxHeap(l, 0).getBandWidth(k) != expected[k]
+                    || new DijkstraBucket(g, 0).getBandWidth(k) != expected[k])
+                throw new RuntimeException("Incorrect result");
+        }
+        WidestPathEngine engine = new WidestPathEngine(g);
+        engine.run(0);
+        double[] batch = new BatchQueryExecutor(g).getBandWidths(new int[] {0, 0, 0}, new int[] {0, 1, 2});
+        for(int k=0; k < 3; k++) {
+            if(engine.getBandWidth(k) != expected[k] || batch[k] != expected[k])
+                throw new RuntimeException("Incorrect result");
+        }
+        if(new Dijkstra(g, 0).getPath(2).size() != 3 || new DijkstraMaxHeap(l, 0).getPath(2).size() != 3
+                || new DijkstraBucket(g, 0).getPath(2).size() != 3 || engine.getPath(2).size() != 3)
+            throw new RuntimeException("Incorrect result");
+
+        // random graphs with many parallel edges and self loops, compared with Kruskal
+        Random rdm = new Random(7);
+        int n = 200;
+        for(int run=0; run < 5; run++) {
+            CsrGraph.Builder b = new CsrGraph.Builder(n);
+            for(int k=0; k < 4 * n; k++)
+                b.addEdge(rdm.nextInt(n / 4), rdm.nextInt(n), 1 + rdm.nextInt(20));
+            g = b.build();
+            Kruskal kruskal = new Kruskal(g);
+            int source = rdm.nextInt(n / 4);
+            Dijkstra dijkstra = new Dijkstra(g, source);
+            DijkstraMaxHeap dijkstraMaxHeap = new DijkstraMaxHeap(g, source);
+            DijkstraBucket dijkstraBucket = new DijkstraBucket(g, source);
+            engine = new WidestPathEngine(g);
+            engine.run(source);
+            for(int k=0; k < n; k++) {
+                if(dijkstra.getBandWidth(k) != kruskal.getBandWidth(source, k)
+                        || dijkstraMaxHeap.getBandWidth(k) != kruskal.getBandWidth(source, k)
+                        || dijkstraBucket.getBandWidth(k) != kruskal.getBandWidth(source, k)
+                        || engine.getBandWidth(k) != kruskal.getBandWidth(source, k))
+                    throw new RuntimeException("Incorrect result");
+            }
+        }
+
+        // weight changes repaired in place on a multigraph, compared with a new run after every change
+        MutableCsrGraph mutable = new CsrGraph.Builder(n).addEdges(getGraph1(n, 11)).addEdge(0, 1, 3).addEdge(0, 1, 7)
+                .addEdge(0, 0, 5).build().toMutable();
+        DijkstraMaxHeap repaired = new DijkstraMaxHeap(mutable, 0);
+        for(int k=0; k < 200; k++) {
+            int u = k % 10 == 0 ? 0 : rdm.nextInt(n);
+            int e = mutable.getStart(u) + rdm.nextInt(mutable.getDegree(u));
+            repaired.updateEdge(mutable, u, mutable.getTarget(e), 1 + rdm.nextInt(20));
+            DijkstraMaxHeap fresh = new DijkstraMaxHeap(mutable, 0);
+            for(int x=0; x < n; x++) {
+                if(repaired.getBandWidth(x) != fresh.getBandWidth(x))
+                    throw new RuntimeException("Incorrect result");
+            }
+        }
+
+        // adjacency list with an isolated source: the heap is empty after the source is popped
+        LinkedList[] isolated = {new LinkedList(), new LinkedList()};
+        if(new DijkstraMaxHeap(isolated, 0).getBandWidth(1) != 0 || new DijkstraMaxHeap(isolated, 0).getPath(1) != null)
+            throw new RuntimeException("Incorrect result");
+
+        // the facade with every strategy: a small graph (array), and large sparse graphs with few distinct
+        // weights (buckets) or many (heap), and many queries (Kruskal index)
+        checkSolver(new AdaptiveSolver(l, 1), AdaptiveSolver.Strategy.ARRAY_DIJKSTRA, new Kruskal(l), 3, rdm);
+        n = 5000;
+        for(int run=0; run < 2; run++) {
+            CsrGraph.Builder b = new CsrGraph.Builder(n);
+            for(int k=0; k < 4 * n; k++)
+                b.addEdge(rdm.nextInt(n), rdm.nextInt(n), run == 0 ? 1 + rdm.nextInt(20) : rdm.nextDouble());
+            g = b.build();
+            Kruskal kruskal = new Kruskal(g);
+            checkSolver(new AdaptiveSolver(g, 1), run == 0 ? AdaptiveSolver.Strategy.BUCKET_DIJKSTRA
+                    : AdaptiveSolver.Strategy.HEAP_DIJKSTRA, kruskal, n, rdm);
+            checkSolver(new AdaptiveSolver(g, 1000000), AdaptiveSolver.Strategy.KRUSKAL_INDEX, kruskal, n, rdm);
+        }
+    }
+
+    /**
+     * Checks that the solver uses the given strategy and gives the same bandwidths as Kruskal
+     */
+    private static void checkSolver(AdaptiveSolver solver, AdaptiveSolver.Strategy strategy, Kruskal kruskal,
+                                    int n, Random rdm) {
+        if(solver.getStrategy() != strategy)
+            throw new RuntimeException("Unexpected strategy " + solver.getStrategy());
+        int source, target;
+        for(int k=0; k < 5; k++) {
+            source = rdm.nextInt(n);
+            target = rdm.nextInt(n);
+            if(solver.getBandWidth(source, target) != kruskal.getBandWidth(source, target))
+                throw new RuntimeException("Incorrect result");
+        }
+        if(n == 3 && solver.getBandWidth(0, 2) != 4)
+            throw new RuntimeException("Incorrect result");
     }
 
+//    Output recorded before the Kruskal index, when the last column timed a DFS over the spanning tree
 //    Graph1 run 0 average degree 6.0
 //    Graph1 run 1 average degree 6.0
 //    Graph1 run 2 average degree 6.0
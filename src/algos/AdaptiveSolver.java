@@ -0,0 +1,248 @@
+package algos;
+
+import datastruct.CsrGraph;
+import datastruct.Graph;
+import datastruct.LinkedList;
+import datastruct.WeightLevels;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Answers max bandwidth queries on a graph with the algorithm that is expected to be the fastest for it.
+ *
+ * The choice is made with a cost model over the number of nodes and edges, the number of distinct weights and
+ * the expected number of queries:
+ *  - ARRAY_DIJKSTRA: n^2 + m per query, best for dense graphs with few queries
+ *  - HEAP_DIJKSTRA: m + n log n per query, best for sparse graphs with few queries
+ *  - BUCKET_DIJKSTRA: m + n per query, only if there are at most DijkstraBucket.MAX_LEVELS distinct weights
+ *  - KRUSKAL_INDEX: m log m once and O(1) per query, best when there are many queries
+ * Every choice is recorded as a Decision with the inputs and the estimated cost of each strategy.
+ * If more queries than expected arrive, the choice is made again assuming as many queries are still to come.
+ */
+public class AdaptiveSolver {
+    public enum Strategy {
+        ARRAY_DIJKSTRA,
+        HEAP_DIJKSTRA,
+        BUCKET_DIJKSTRA,
+        KRUSKAL_INDEX
+    }
+
+    // cost model constants (about ns per operation, measured on the test graphs)
+    private static final double ARRAY_COST_NODE_PAIR = 1;
+    private static final double ARRAY_COST_EDGE = 2;
+    private static final double HEAP_COST_EDGE = 8;
+    private static final double HEAP_COST_NODE_LOG = 25;
+    private static final double BUCKET_COST_EDGE = 6;
+    private static final double BUCKET_COST_NODE = 300;
+    private static final double KRUSKAL_COST_EDGE = 80;
+    private static final double KRUSKAL_COST_NODE = 500;
+    private static final double KRUSKAL_COST_QUERY = 50;
+    // a point-to-point Dijkstra stops when the target is added, on average halfway through the graph
+    private static final double EARLY_EXIT_FRACTION = 0.5;
+
+    private final Graph g;
+    // weight levels for the bucket queue (null if there are too many distinct weights)
+    private final WeightLevels levels;
+    private final List<Decision> decisions = new ArrayList<>();
+
+    private Strategy strategy;
+    private Kruskal kruskal;
+    private long expectedQueries;
+    private long nQueries = 0;
+
+    public AdaptiveSolver(LinkedList[] g, long expectedQueries) {
+        this(CsrGraph.fromLinkedList(g), expectedQueries);
+    }
+
+    /**
+     * Inspects the graph and chooses the strategy for the expected number of queries
+     *
+     * @param g the graph
+     * @param expectedQueries number of queries expected on this graph
+     */
+    public AdaptiveSolver(Graph g, long expectedQueries) {
+        this.g = g;
+        this.levels = WeightLevels.of(g, DijkstraBucket.MAX_LEVELS);
+        this.expectedQueries = Math.max(1, expectedQueries);
+        choose("initial choice");
+    }
+
+    /**
+     * Returns the strategy with the lowest estimated cost
+     *
+     * @param n number of nodes
+     * @param m number of half-edges
+     * @param nLevels number of distinct weights (-1 if there are too many for the bucket queue)
+     * @param expectedQueries number of queries
+     * @return the decision with the estimated cost of every strategy
+     */
+    public static Decision decide(int n, int m, int nLevels, long expectedQueries) {
+        double q = Math.max(1, expectedQueries);
+        double logN = Math.max(1, Math.log(n) / Math.log(2));
+        double[] costs = new double[Strategy.values().length];
+
+        costs[Strategy.ARRAY_DIJKSTRA.ordinal()] = q * EARLY_EXIT_FRACTION
+                * (ARRAY_COST_NODE_PAIR * n * (double) n + ARRAY_COST_EDGE * m);
+        costs[Strategy.HEAP_DIJKSTRA.ordinal()] = q * EARLY_EXIT_FRACTION
+                * (HEAP_COST_EDGE * m + HEAP_COST_NODE_LOG * n * logN);
+        costs[Strategy.BUCKET_DIJKSTRA.ordinal()] = nLevels < 0 ? Double.POSITIVE_INFINITY
+                : q * EARLY_EXIT_FRACTION * (BUCKET_COST_EDGE * m + BUCKET_COST_NODE * n + nLevels);
+        costs[Strategy.KRUSKAL_INDEX.ordinal()] = KRUSKAL_COST_EDGE * m + KRUSKAL_COST_NODE * n
+                + KRUSKAL_COST_QUERY * q;
+
+        Strategy best = Strategy.HEAP_DIJKSTRA;
+        for(Strategy s : Strategy.values()) {
+            if(costs[s.ordinal()] < costs[best.ordinal()])
+                best = s;
+        }
+        return new Decision(best, n, m, nLevels, expectedQueries, costs);
+    }
+
+    private void choose(String reason) {
+        Decision d = decide(g.getNumVertices(), g.getNumEdges(), levels == null ? -1 : levels.size(),
+                expectedQueries - nQueries);
+        d.reason = reason;
+        d.queriesBefore = nQueries;
+        decisions.add(d);
+
+        strategy = d.strategy;
+        if(strategy == Strategy.KRUSKAL_INDEX && kruskal == null)
+            kruskal = new Kruskal(g);
+    }
+
+    private void countQuery() {
+        nQueries++;
+        // once the index is built every query is O(1), so there is nothing left to choose
+        if(nQueries > expectedQueries && kruskal == null) {
+            expectedQueries = 2 * nQueries;
+            choose("more queries than expected");
+        }
+    }
+
+    public double getBandWidth(int source, int target) {
+        countQuery();
+        if(source == target)
+            return Double.POSITIVE_INFINITY;
+        if(strategy == Strategy.KRUSKAL_INDEX)
+            return kruskal.getBandWidth(source, target);
+        return runDijkstra(source, target).getBandWidth(target);
+    }
+
+    /**
+     * Returns the max bandwidth path from source to target (or null if target cannot be reached).
+     * The weight of every node is the bandwidth of the path.
+     */
+    public LinkedList getPath(int source, int target) {
+        countQuery();
+        if(strategy == Strategy.KRUSKAL_INDEX)
+            return kruskal.getPath(source, target);
+        return runDijkstra(source, target).getPath(target);
+    }
+
+    private Dijkstra runDijkstra(int source, int target) {
+        switch (strategy) {
+            case ARRAY_DIJKSTRA:
+                return new Dijkstra(g, source, target);
+            case BUCKET_DIJKSTRA:
+                return new DijkstraBucket(g, levels, source, target);
+            default:
+                return new DijkstraMaxHeap(g, source, target);
+        }
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    public long getNumQueries() {
+        return nQueries;
+    }
+
+    /**
+     * Returns every decision made so far, oldest first
+     */
+    public List<Decision> getDecisions() {
+        return Collections.unmodifiableList(decisions);
+    }
+
+    /**
+     * Record of a strategy choice: the inputs of the cost model and the estimated cost of each strategy
+     */
+    public static final class Decision {
+        private final Strategy strategy;
+        private final int nVertices;
+        private final int nEdges;
+        private final int nLevels;
+        private final long expectedQueries;
+        // estimated cost of each strategy indexed by ordinal
+        private final double[] costs;
+        private String reason = "cost model";
+        // number of queries answered before this decision
+        private long queriesBefore = 0;
+
+        private Decision(Strategy strategy, int nVertices, int nEdges, int nLevels, long expectedQueries,
+                         double[] costs) {
+            this.strategy = strategy;
+            this.nVertices = nVertices;
+            this.nEdges = nEdges;
+            this.nLevels = nLevels;
+            this.expectedQueries = expectedQueries;
+            this.costs = costs;
+        }
+
+        public Strategy getStrategy() {
+            return strategy;
+        }
+
+        public int getNumVertices() {
+            return nVertices;
+        }
+
+        public int getNumEdges() {
+            return nEdges;
+        }
+
+        /**
+         * Returns the number of distinct weights (-1 if there are too many for the bucket queue)
+         */
+        public int getNumLevels() {
+            return nLevels;
+        }
+
+        public long getExpectedQueries() {
+            return expectedQueries;
+        }
+
+        /**
+         * Returns the estimated cost of a strategy (infinity if it cannot be used)
+         */
+        public double getCost(Strategy s) {
+            return costs[s.ordinal()];
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public long getQueriesBefore() {
+            return queriesBefore;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder s = new StringBuilder();
+            s.append(strategy)
+                    .append(" (").append(reason)
+                    .append(", after ").append(queriesBefore).append(" queries)")
+                    .append(" n=").append(nVertices)
+                    .append(" m=").append(nEdges)
+                    .append(" levels=").append(nLevels)
+                    .append(" queries=").append(expectedQueries);
+            for(Strategy st : Strategy.values())
+                s.append(" ").append(st).append("=").append(String.format("%.3g", costs[st.ordinal()]));
+            return s.toString();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package algos;
+
+import datastruct.Graph;
+import datastruct.LinkedList;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Runs batches of independent max bandwidth queries on the same graph in parallel.
+ *
+ * The graph is only read, so it is shared by all the threads. Each group of queries borrows a WidestPathEngine
+ * with its working arrays from the executor and returns it when done, so there are at most as many engines as
+ * groups running at the same time, and they are released with the executor (pool threads keep no reference to
+ * them or to the graph). Queries are grouped by source so that a source asked several times is solved with a single
+ * run, and the groups are spread over the threads of a fork join pool. Results are returned in input order.
+ */
+public class BatchQueryExecutor {
+    private final Graph g;
+    private final ForkJoinPool pool;
+    // engines not used by any group
+    private final ConcurrentLinkedQueue<WidestPathEngine> idleEngines = new ConcurrentLinkedQueue<>();
+
+    public BatchQueryExecutor(Graph g) {
+        this(g, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an executor that runs the queries in the given pool
+     *
+     * @param g the graph (must not change while queries are running)
+     * @param pool pool that runs the queries
+     */
+    public BatchQueryExecutor(Graph g, ForkJoinPool pool) {
+        this.g = g;
+        this.pool = pool;
+    }
+
+    public Graph getGraph() {
+        return g;
+    }
+
+    /**
+     * Returns the max bandwidth of every query
+     *
+     * @param sources source node of each query
+     * @param targets target node of each query
+     * @return the bandwidth of each query in input order (0 if the target cannot be reached)
+     */
+    public double[] getBandWidths(int[] sources, int[] targets) {
+        double[] bw = new double[sources.length];
+        run(sources, targets, (engine, k) -> bw[k] = sources[k] == targets[k] ? Double.POSITIVE_INFINITY
+                : engine.getBandWidth(targets[k]));
+        return bw;
+    }
+
+    /**
+     * Returns the max bandwidth path of every query
+     *
+     * @param sources source node of each query
+     * @param targets target node of each query
+     * @return the path of each query in input order (null if the target cannot be reached)
+     */
+    public LinkedList[] getPaths(int[] sources, int[] targets) {
+        LinkedList[] paths = new LinkedList[sources.length];
+        run(sources, targets, (engine, k) -> paths[k] = engine.getPath(targets[k]));
+        return paths;
+    }
+
+    /**
+     * Solves the queries grouped by source and calls the handler for each query after its source is solved
+     */
+    private void run(int[] sources, int[] targets, QueryHandler handler) {
+        if(sources.length != targets.length)
+            throw new IllegalArgumentException("Different number of sources and targets");
+
+        // sort the queries by source, keeping the input index in the low bits
+        int q = sources.length;
+        long[] order = new long[q];
+        for(int k=0; k < q; k++)
+            order[k] = ((long) sources[k] << 32) | k;
+        Arrays.sort(order);
+
+        // start of each group of queries with the same source
+        int[] groups = new int[q + 1];
+        int nGroups = 0;
+        for(int k=0; k < q; k++) {
+            if(k == 0 || (order[k] >>> 32) != (order[k - 1] >>> 32))
+                groups[nGroups++] = k;
+        }
+        groups[nGroups] = q;
+
+        int groupCount = nGroups;
+        pool.submit(() -> IntStream.range(0, groupCount).parallel().forEach(grp -> {
+            WidestPathEngine engine = idleEngines.poll();
+            if(engine == null)
+                engine = new WidestPathEngine(g);
+            int from = groups[grp];
+            int to = groups[grp + 1];
+            int source = (int) (order[from] >>> 32);
+            if(to - from == 1) {
+                // single query, stop as soon as the target is reached
+                int k = (int) order[from];
+                engine.maxBandWidth(source, targets[k]);
+                handler.accept(engine, k);
+            } else {
+                engine.run(source);
+                for(int i = from; i < to; i++)
+                    handler.accept(engine, (int) order[i]);
+            }
+            idleEngines.offer(engine);
+        })).join();
+    }
+
+    private interface QueryHandler {
+        void accept(WidestPathEngine engine, int query);
+    }
+}
@@ -0,0 +1,184 @@
+package algos;
+
+import datastruct.CsrGraph;
+import datastruct.Graph;
+import datastruct.LinkedList;
+import datastruct.MaxHeap;
+
+/**
+ * Point-to-point max bandwidth path that grows a tree from the source and another from the target.
+ *
+ * Every edge relaxed between the two trees gives a source-target path, the widest one found is kept.
+ * A side with top fringe value k has already added every node whose bandwidth from its root is larger than k,
+ * so once the best path found is at least as wide as the top of either heap no wider path can exist.
+ */
+public class BidirectionalDijkstra {
+    // Status array
+    private static final int UNSEEN = 0;
+    private static final int FRINGER = 1;
+    private static final int INTREE = 2;
+
+    // Dad array
+    private static final int ROOT = -1;
+
+    private final int source;
+    private final int target;
+
+    // bandwidth of the widest path found (0 if target unreachable)
+    private double bandWidth = 0;
+    // edge (meetF, meetB) that joins the forward and backward trees in the widest path
+    private int meetF = -1;
+    private int meetB = -1;
+    // number of nodes added to either tree
+    private int nSettled = 0;
+
+    private final int[] dadF;
+    private final int[] dadB;
+
+    public BidirectionalDijkstra(LinkedList[] g, int source, int target) {
+        this(CsrGraph.fromLinkedList(g), source, target);
+    }
+
+    public BidirectionalDijkstra(Graph g, int source, int target) {
+        this.source = source;
+        this.target = target;
+        this.dadF = new int[g.getNumVertices()];
+        this.dadB = new int[g.getNumVertices()];
+        maxBW(g);
+    }
+
+    public double getBandWidth() {
+        return bandWidth;
+    }
+
+    /**
+     * Returns the number of nodes added to the forward or backward tree
+     *
+     * @return number of settled nodes
+     */
+    public int getNumSettled() {
+        return nSettled;
+    }
+
+    /**
+     * Returns the max bandwidth path from source to target (or null if target cannot be reached).
+     * The weight of every node is the bandwidth of the path.
+     *
+     * @return the path
+     */
+    public LinkedList getPath() {
+        if(meetF == -1)
+            return null;
+
+        // forward part from source to meetF, pos contains the position of each node in the path
+        int[] pos = new int[dadF.length];
+        int[] path = new int[dadF.length];
+        int length = 0;
+        for(int x = meetF; x != ROOT; x = dadF[x])
+            length++;
+        int idx = length;
+        for(int x = meetF; x != ROOT; x = dadF[x]) {
+            idx--;
+            path[idx] = x;
+            pos[x] = idx + 1;
+        }
+
+        // backward part from meetB to target, removing loops if it goes back to a node in the forward part
+        for(int x = meetB; x != ROOT; x = dadB[x]) {
+            if(pos[x] != 0) {
+                length = pos[x];
+                continue;
+            }
+            path[length] = x;
+            length++;
+        }
+
+        LinkedList p = new LinkedList();
+        for(int k = length - 1; k >= 0; k--)
+            p.add(path[k], bandWidth);
+        return p;
+    }
+
+    private void maxBW(Graph g) {
+        int n = g.getNumVertices();
+        int[] statusF = new int[n];
+        int[] statusB = new int[n];
+        double[] bwF = new double[n];
+        double[] bwB = new double[n];
+        MaxHeap heapF = new MaxHeap(n);
+        MaxHeap heapB = new MaxHeap(n);
+
+        if(source == target) {
+            bandWidth = Double.POSITIVE_INFINITY;
+            dadF[source] = ROOT;
+            dadB[target] = ROOT;
+            meetF = source;
+            meetB = ROOT;
+            return;
+        }
+
+        // the roots are the first nodes popped from each heap
+        statusF[source] = FRINGER;
+        bwF[source] = Double.POSITIVE_INFINITY;
+        dadF[source] = ROOT;
+        heapF.add(source, bwF[source]);
+        statusB[target] = FRINGER;
+        bwB[target] = Double.POSITIVE_INFINITY;
+        dadB[target] = ROOT;
+        heapB.add(target, bwB[target]);
+
+        boolean forward;
+        int u, x;
+        double minTmp, cand;
+        int[] status, statusOther, dad;
+        double[] bw, bwOther;
+        MaxHeap heap;
+        while(!heapF.isEmpty() && !heapB.isEmpty()) {
+            // stop when no path can be wider than the best one found
+            if(bandWidth >= Math.min(heapF.getValue(heapF.max()), heapB.getValue(heapB.max())))
+                break;
+
+            // grow the tree with the smallest fringe
+            forward = heapF.size() <= heapB.size();
+            if(forward) {
+                status = statusF; statusOther = statusB; dad = dadF;
+                bw = bwF; bwOther = bwB; heap = heapF;
+            } else {
+                status = statusB; statusOther = statusF; dad = dadB;
+                bw = bwB; bwOther = bwF; heap = heapB;
+            }
+
+            // set largest fringer as intree
+            u = heap.pop();
+            status[u] = INTREE;
+            nSettled++;
+
+            // for all adjacent nodes to largest fringer
+            for(int e = g.getStart(u); e < g.getEnd(u); e++) {
+                x = g.getTarget(e);
+                minTmp = bw[u] < g.getWeight(e) ? bw[u] : g.getWeight(e);
+
+                // edge joins both trees
+                if(statusOther[x] != UNSEEN) {
+                    cand = minTmp < bwOther[x] ? minTmp : bwOther[x];
+                    if(cand > bandWidth) {
+                        bandWidth = cand;
+                        meetF = forward ? u : x;
+                        meetB = forward ? x : u;
+                    }
+                }
+
+                if(status[x] == UNSEEN) {
+                    status[x] = FRINGER;
+                    bw[x] = minTmp;
+                    dad[x] = u;
+                    heap.add(x, minTmp);
+                } else if(status[x] == FRINGER && bw[x] < minTmp) {
+                    bw[x] = minTmp;
+                    dad[x] = u;
+                    heap.increaseKey(x, minTmp);
+                }
+            }
+        }
+    }
+}
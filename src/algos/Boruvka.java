@@ -0,0 +1,120 @@
+package algos;
+
+import datastruct.ConcurrentUnionFind;
+import datastruct.EdgeList;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel maximum spanning forest with Boruvka rounds.
+ *
+ * In each round every piece picks its heaviest outgoing edge (in parallel over the edges) and all the picked edges
+ * are added at once (in parallel over the pieces), so the number of pieces at least halves every round.
+ * Edges are compared by weight and then by index (smaller index first), the same order in which Kruskal processes
+ * them, so with this strict order the spanning forest is unique and equal to the one built by Kruskal.
+ */
+public class Boruvka {
+    // edges processed by each parallel task
+    private static final int CHUNK_SIZE = 1 << 14;
+    private static final int NONE = -1;
+
+    /**
+     * Computes the maximum spanning forest using the common fork join pool
+     *
+     * @param edges the edges of the graph
+     * @param n number of nodes in the graph
+     * @return the indices of the edges in the forest
+     */
+    public static int[] maxSpanningForest(EdgeList edges, int n) {
+        return maxSpanningForest(edges, n, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the maximum spanning forest
+     *
+     * @param edges the edges of the graph
+     * @param n number of nodes in the graph
+     * @param pool pool that runs the parallel steps
+     * @return the indices of the edges in the forest
+     */
+    public static int[] maxSpanningForest(EdgeList edges, int n, ForkJoinPool pool) {
+        ConcurrentUnionFind unionFind = new ConcurrentUnionFind(n);
+        int[] forest = new int[Math.max(0, n - 1)];
+        AtomicInteger forestSize = new AtomicInteger();
+
+        // edges that may still join two pieces
+        int[] active = new int[edges.size()];
+        for(int k=0; k < active.length; k++)
+            active[k] = k;
+        int nActive = active.length;
+
+        while(nActive > 0) {
+            // heaviest edge leaving each piece (indexed by the root of the piece)
+            AtomicIntegerArray best = new AtomicIntegerArray(n);
+            for(int k=0; k < n; k++)
+                best.set(k, NONE);
+
+            // drop edges inside a piece and pick the heaviest edge of each piece
+            int[] edgesLeft = active;
+            int nChunks = (nActive + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            int[][] alive = new int[nChunks][];
+            int last = nActive;
+            run(pool, () -> IntStream.range(0, nChunks).parallel().forEach(c -> {
+                int from = c * CHUNK_SIZE;
+                int to = Math.min(last, from + CHUNK_SIZE);
+                int[] kept = new int[to - from];
+                int nKept = 0;
+                int e, r1, r2;
+                for(int k = from; k < to; k++) {
+                    e = edgesLeft[k];
+                    r1 = unionFind.find(edges.getFrom(e));
+                    r2 = unionFind.find(edges.getTo(e));
+                    if(r1 == r2)
+                        continue;
+                    kept[nKept++] = e;
+                    offer(best, r1, e, edges);
+                    offer(best, r2, e, edges);
+                }
+                alive[c] = Arrays.copyOf(kept, nKept);
+            }));
+
+            // add the picked edges, an edge picked by both of its pieces is only added once
+            run(pool, () -> IntStream.range(0, n).parallel().forEach(r -> {
+                int e = best.get(r);
+                if(e != NONE && unionFind.union(edges.getFrom(e), edges.getTo(e)))
+                    forest[forestSize.getAndIncrement()] = e;
+            }));
+
+            // keep the edges that were not inside a piece
+            nActive = 0;
+            for(int[] kept : alive) {
+                System.arraycopy(kept, 0, active, nActive, kept.length);
+                nActive += kept.length;
+            }
+        }
+        return Arrays.copyOf(forest, forestSize.get());
+    }
+
+    /**
+     * Sets best[r] to edge e if e is heavier than the current edge (smaller index for equal weights)
+     */
+    private static void offer(AtomicIntegerArray best, int r, int e, EdgeList edges) {
+        int cur;
+        double w = edges.getWeight(e);
+        while(true) {
+            cur = best.get(r);
+            if(cur != NONE && (edges.getWeight(cur) > w || (edges.getWeight(cur) == w && cur < e)))
+                return;
+            if(best.compareAndSet(r, cur, e))
+                return;
+        }
+    }
+
+    private static void run(ForkJoinPool pool, Runnable task) {
+        pool.submit(task).join();
+    }
+}
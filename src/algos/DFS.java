@@ -2,6 +2,10 @@ package algos;
 
 import datastruct.LinkedList;
 
+/**
+ * Path search by DFS over a maximum spanning tree given as an adjacency list. Kruskal no longer uses it (queries go
+ * through the reconstruction tree index), it is kept as the simple reference for checking paths.
+ */
 public class DFS {
     private static final int VISITED = 1;
     private static final int NOT_VISITED = 0;
@@ -1,7 +1,10 @@
 package algos;
 
+import datastruct.Graph;
 import datastruct.LinkedList;
 
+import java.util.Arrays;
+
 public class Dijkstra {
     // Status array
     protected static final int UNSEEN = 0;
@@ -12,6 +15,9 @@ public class Dijkstra {
     protected static final int UNREACHABLE = -1;
     protected static final int ROOT = -2;
 
+    // Target value when the whole tree is computed
+    public static final int NO_TARGET = -1;
+
     // array with the parent nodes in the max bandwidth path (parent node + 1)
     // parent node 0 means the node cannot be reached (value -1)
     // parent node -1 means the node is the root/source (value -2)
@@ -20,15 +26,58 @@ public class Dijkstra {
     protected final double[] bWidth;
     // source node
     protected final int source;
+    // target node, the algorithm stops as soon as its bandwidth is final (NO_TARGET to compute the whole tree)
+    protected final int target;
 
     public Dijkstra(LinkedList[] g, int source) {
+        this(g, source, NO_TARGET);
+    }
+
+    /**
+     * Point-to-point query: stops as soon as the target is added to the tree.
+     * Only the path and bandwidth of the target (and of the nodes already in the tree) are final.
+     *
+     * @param g adjacency list of the graph
+     * @param source source node
+     * @param target target node
+     */
+    public Dijkstra(LinkedList[] g, int source, int target) {
         this.dad = new int[g.length];
         this.bWidth = new double[g.length];
         this.source = source;
+        this.target = target;
         // run max bandwidth
         maxBW(g);
     }
 
+    public Dijkstra(Graph g, int source) {
+        this(g, source, NO_TARGET);
+    }
+
+    public Dijkstra(Graph g, int source, int target) {
+        this.dad = new int[g.getNumVertices()];
+        this.bWidth = new double[g.getNumVertices()];
+        this.source = source;
+        this.target = target;
+        // run max bandwidth
+        maxBW(g);
+    }
+
+    /**
+     * Allocates the arrays without running the algorithm.
+     * Used by subclasses that need to set their own fields before calling maxBW.
+     *
+     * @param nVertices number of nodes in the graph
+     * @param source source node
+     * @param target target node (NO_TARGET to compute the whole tree)
+     */
+    protected Dijkstra(int nVertices, int source, int target) {
+        this.dad = new int[nVertices];
+        this.bWidth = new double[nVertices];
+        this.source = source;
+        this.target = target;
+    }
+
     public LinkedList getPath(int target) {
         if(getDad(target) == UNREACHABLE)
             return null;
@@ -63,30 +112,27 @@ public class Dijkstra {
 
     protected void maxBW(LinkedList[] g) {
         int[] status = new int[g.length];
+        double[] fringe = newFringe(g.length);
         // status, dad, and bwdith are initialized to 0 automatically
 
-        // set variables for source node
-        status[source] = INTREE;
+        // set variables for source node. The source is the first fringer picked, so its edges are relaxed like
+        // those of any other node (a self loop does not change it, and parallel edges keep the largest weight)
+        status[source] = FRINGER;
         bWidth[source] = Double.POSITIVE_INFINITY;
+        fringe[source] = Double.POSITIVE_INFINITY;
         setDad(source, ROOT);
 
-        // add adjacent nodes to source
-        LinkedList.Node current = g[source].head;
-        while(current != null) {
-            status[current.data] = FRINGER;
-            bWidth[current.data] = current.weight;
-            setDad(current.data, source);
-
-            // check next edge
-            current = current.next;
-        }
-
         // main section of algorithm
+        LinkedList.Node current;
         double minTmp;
-        int maxFringer = getMaxFringer(g, status);
+        int maxFringer = getMaxFringer(fringe);
         while(maxFringer != -1) {
             // set largest fringer as intree
             status[maxFringer] = INTREE;
+            fringe[maxFringer] = Double.NEGATIVE_INFINITY;
+            // bandwidth of the target is final once it is in the tree
+            if(maxFringer == target)
+                return;
 
             // for all adjacent nodes to largest fringer
             current = g[maxFringer].head;
@@ -95,9 +141,11 @@ public class Dijkstra {
                 if(status[current.data] == UNSEEN) {
                     status[current.data] = FRINGER;
                     bWidth[current.data] = minTmp;
+                    fringe[current.data] = minTmp;
                     setDad(current.data, maxFringer);
                 } else if(status[current.data] == FRINGER && bWidth[current.data] < minTmp) {
                     bWidth[current.data] = minTmp;
+                    fringe[current.data] = minTmp;
                     setDad(current.data, maxFringer);
                 }
 
@@ -106,19 +154,77 @@ public class Dijkstra {
             }
 
             // pick fringer with largest bwidth
-            maxFringer = getMaxFringer(g, status);
+            maxFringer = getMaxFringer(fringe);
+        }
+    }
+
+    protected void maxBW(Graph g) {
+        int[] status = new int[g.getNumVertices()];
+        double[] fringe = newFringe(g.getNumVertices());
+        // status, dad, and bwdith are initialized to 0 automatically
+
+        // set variables for source node. The source is the first fringer picked, so its edges are relaxed like
+        // those of any other node (a self loop does not change it, and parallel edges keep the largest weight)
+        status[source] = FRINGER;
+        bWidth[source] = Double.POSITIVE_INFINITY;
+        fringe[source] = Double.POSITIVE_INFINITY;
+        setDad(source, ROOT);
+
+        // main section of algorithm
+        int w;
+        double minTmp;
+        int maxFringer = getMaxFringer(fringe);
+        while(maxFringer != -1) {
+            // set largest fringer as intree
+            status[maxFringer] = INTREE;
+            fringe[maxFringer] = Double.NEGATIVE_INFINITY;
+            // bandwidth of the target is final once it is in the tree
+            if(maxFringer == target)
+                return;
+
+            // for all adjacent nodes to largest fringer
+            for(int e = g.getStart(maxFringer); e < g.getEnd(maxFringer); e++) {
+                w = g.getTarget(e);
+                minTmp = bWidth[maxFringer] < g.getWeight(e) ? bWidth[maxFringer] : g.getWeight(e);
+                if(status[w] == UNSEEN) {
+                    status[w] = FRINGER;
+                    bWidth[w] = minTmp;
+                    fringe[w] = minTmp;
+                    setDad(w, maxFringer);
+                } else if(status[w] == FRINGER && bWidth[w] < minTmp) {
+                    bWidth[w] = minTmp;
+                    fringe[w] = minTmp;
+                    setDad(w, maxFringer);
+                }
+            }
+
+            // pick fringer with largest bwidth
+            maxFringer = getMaxFringer(fringe);
         }
     }
 
-    // imp use a double linked list so it can be deleted in constant time, or keep in memory last value
-    private int getMaxFringer(LinkedList[] g, int[] status) {
+    /**
+     * Returns the key array used to pick the largest fringer: the bandwidth of the fringers and -inf for the rest
+     * of the nodes, so the scan does not need to check the status of each node
+     */
+    private static double[] newFringe(int nVertices) {
+        double[] fringe = new double[nVertices];
+        Arrays.fill(fringe, Double.NEGATIVE_INFINITY);
+        return fringe;
+    }
+
+    /**
+     * Returns the first fringer with the largest bandwidth (-1 if there are no fringers).
+     * Since the status is encoded in the keys, the loop body is a single compare and select over one array.
+     */
+    protected static int getMaxFringer(double[] fringe) { // O(n)
         int max = -1;
-        double maxVal = 0;
+        double maxVal = Double.NEGATIVE_INFINITY;
         double tmp;
 
-        for(int k=0; k < status.length; k++) {
-            tmp = bWidth[k];
-            if(status[k] == FRINGER && (max == -1 || maxVal < tmp)) {
+        for(int k=0; k < fringe.length; k++) {
+            tmp = fringe[k];
+            if(tmp > maxVal) {
                 max = k;
                 maxVal = tmp;
             }
@@ -0,0 +1,106 @@
+package algos;
+
+import datastruct.BucketQueue;
+import datastruct.Graph;
+import datastruct.WeightLevels;
+
+/**
+ * Dijkstra for graphs with few distinct weights, using a bucket queue indexed by weight level instead of a heap.
+ * The bandwidth of every node is one of the K edge weights, so a run costs O(m + K).
+ * Falls back to the max heap when the graph has more than MAX_LEVELS distinct weights.
+ */
+public class DijkstraBucket extends DijkstraMaxHeap {
+    // maximum number of distinct weights for which the bucket queue is used
+    public static final int MAX_LEVELS = 1024;
+
+    // weight levels of the graph (null to use the max heap)
+    private final WeightLevels levels;
+
+    public DijkstraBucket(Graph g, int source) {
+        this(g, WeightLevels.of(g, MAX_LEVELS), source, NO_TARGET);
+    }
+
+    /**
+     * Runs Dijkstra with precomputed levels, so they can be shared by all the queries on the same graph
+     *
+     * @param g the graph
+     * @param levels weight levels of g (null to use the max heap)
+     * @param source source node
+     * @param target target node (NO_TARGET to compute the whole tree)
+     */
+    public DijkstraBucket(Graph g, WeightLevels levels, int source, int target) {
+        super(g.getNumVertices(), source, target);
+        this.levels = levels;
+        maxBW(g);
+    }
+
+    /**
+     * Returns true if the bucket queue was used (false if it fell back to the max heap)
+     *
+     * @return whether the bucket queue was used
+     */
+    public boolean usesBuckets() {
+        return levels != null;
+    }
+
+    @Override
+    protected void maxBW(Graph g) {
+        if(levels == null) {
+            super.maxBW(g);
+            return;
+        }
+
+        int[] status = new int[g.getNumVertices()];
+        // status, dad, and bwdith are initialized to 0 automatically
+        BucketQueue queue = new BucketQueue(g.getNumVertices(), levels.size());
+
+        // set variables for source node
+        status[source] = INTREE;
+        bWidth[source] = Double.POSITIVE_INFINITY;
+        setDad(source, ROOT);
+        if(source == target)
+            return;
+
+        // add adjacent nodes to source (the source has no level, so it cannot go through the queue).
+        // Self loops are skipped and parallel edges keep the largest level
+        int w;
+        for(int e = g.getStart(source); e < g.getEnd(source); e++) {
+            w = g.getTarget(e);
+            if(status[w] == UNSEEN) {
+                status[w] = FRINGER;
+                queue.add(w, levels.getLevel(e));
+            } else if(status[w] == FRINGER && queue.getLevel(w) < levels.getLevel(e)) {
+                queue.increaseKey(w, levels.getLevel(e));
+            } else {
+                continue;
+            }
+            setDad(w, source);
+        }
+
+        // main section of algorithm
+        int maxFringer, level, minTmp;
+        while(!queue.isEmpty()) {
+            // set largest fringer as intree
+            maxFringer = queue.pop();
+            status[maxFringer] = INTREE;
+            level = queue.getLevel(maxFringer);
+            bWidth[maxFringer] = levels.getWeight(level);
+            if(maxFringer == target)
+                return;
+
+            // for all adjacent nodes to largest fringer
+            for(int e = g.getStart(maxFringer); e < g.getEnd(maxFringer); e++) {
+                w = g.getTarget(e);
+                minTmp = level < levels.getLevel(e) ? level : levels.getLevel(e);
+                if(status[w] == UNSEEN) {
+                    status[w] = FRINGER;
+                    setDad(w, maxFringer);
+                    queue.add(w, minTmp);
+                } else if(status[w] == FRINGER && queue.getLevel(w) < minTmp) {
+                    setDad(w, maxFringer);
+                    queue.increaseKey(w, minTmp);
+                }
+            }
+        }
+    }
+}
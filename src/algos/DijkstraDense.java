@@ -0,0 +1,63 @@
+package algos;
+
+import datastruct.DenseGraph;
+
+import java.util.Arrays;
+
+/**
+ * Array based Dijkstra (Prim-style) for graphs stored as an adjacency matrix.
+ * Every step scans the fringe keys and relaxes the row of the new tree node, so both loops run over contiguous
+ * arrays without following pointers. O(n^2), the best option for dense graphs.
+ */
+public class DijkstraDense extends Dijkstra {
+    public DijkstraDense(DenseGraph g, int source) {
+        this(g, source, NO_TARGET);
+    }
+
+    public DijkstraDense(DenseGraph g, int source, int target) {
+        super(g.getNumVertices(), source, target);
+        maxBW(g);
+    }
+
+    protected void maxBW(DenseGraph g) {
+        int n = g.getNumVertices();
+        double[] w = g.getWeights();
+        // key used to pick the largest fringer (-inf for unseen and tree nodes)
+        double[] fringe = new double[n];
+        Arrays.fill(fringe, Double.NEGATIVE_INFINITY);
+        // unseen nodes start at -inf, so any edge improves them. Tree nodes have a bandwidth at least as large as
+        // the new tree node, so no edge improves them and the relaxation does not need the status of the nodes
+        Arrays.fill(bWidth, Double.NEGATIVE_INFINITY);
+
+        bWidth[source] = Double.POSITIVE_INFINITY;
+        setDad(source, ROOT);
+
+        int maxFringer = source;
+        int row;
+        double bw, minTmp;
+        while(maxFringer != -1 && maxFringer != target) {
+            fringe[maxFringer] = Double.NEGATIVE_INFINITY;
+
+            // relax the row of the new tree node (missing edges are -inf and never improve a node)
+            bw = bWidth[maxFringer];
+            row = g.getRowStart(maxFringer);
+            for(int k=0; k < n; k++) {
+                minTmp = w[row + k] < bw ? w[row + k] : bw;
+                if(minTmp > bWidth[k]) {
+                    bWidth[k] = minTmp;
+                    fringe[k] = minTmp;
+                    setDad(k, maxFringer);
+                }
+            }
+
+            // pick fringer with largest bwidth
+            maxFringer = getMaxFringer(fringe);
+        }
+
+        // nodes that were never reached have bandwidth 0
+        for(int k=0; k < n; k++) {
+            if(bWidth[k] == Double.NEGATIVE_INFINITY)
+                bWidth[k] = 0;
+        }
+    }
+}
@@ -1,45 +1,91 @@
 package algos;
 
+import datastruct.Graph;
 import datastruct.LinkedList;
 import datastruct.MaxHeap;
-import datastruct.UnionFind;
+import datastruct.MaxPriorityQueue;
+import datastruct.MutableCsrGraph;
 
 public class DijkstraMaxHeap extends Dijkstra {
+    // priority queue used for the fringe (null to use a new MaxHeap)
+    private MaxPriorityQueue queue;
+    // working arrays of updateEdge (created on the first update)
+    private MaxHeap repairHeap;
+    private boolean[] invalid;
+    private int[] invalidNodes;
+
     public DijkstraMaxHeap(LinkedList[] g, int source) {
         super(g, source);
     }
 
+    public DijkstraMaxHeap(LinkedList[] g, int source, int target) {
+        super(g, source, target);
+    }
+
+    public DijkstraMaxHeap(Graph g, int source) {
+        super(g, source);
+    }
+
+    /**
+     * Point-to-point query: stops as soon as the target is popped from the heap
+     *
+     * @param g the graph
+     * @param source source node
+     * @param target target node
+     */
+    public DijkstraMaxHeap(Graph g, int source, int target) {
+        super(g, source, target);
+    }
+
+    /**
+     * Runs Dijkstra with the given priority queue for the fringe (e.g. DAryMaxHeap or PairingMaxHeap).
+     * The queue is cleared before it is used, so it can be reused for several runs.
+     *
+     * @param g the graph
+     * @param source source node
+     * @param target target node (NO_TARGET to compute the whole tree)
+     * @param queue priority queue with capacity for all the nodes of g
+     */
+    public DijkstraMaxHeap(Graph g, int source, int target, MaxPriorityQueue queue) {
+        super(g.getNumVertices(), source, target);
+        this.queue = queue;
+        maxBW(g);
+    }
+
+    protected DijkstraMaxHeap(int nVertices, int source, int target) {
+        super(nVertices, source, target);
+    }
+
+    private MaxPriorityQueue getQueue(int nVertices) {
+        if(queue == null)
+            return new MaxHeap(nVertices);
+        queue.clear();
+        return queue;
+    }
+
     @Override
     protected void maxBW(LinkedList[] g) {
         int[] status = new int[g.length];
         // status, dad, and bwdith are initialized to 0 automatically
-        MaxHeap maxHeap = new MaxHeap(g.length);
+        MaxPriorityQueue maxHeap = getQueue(g.length);
 
-        // set variables for source node
-        status[source] = INTREE;
+        // set variables for source node. The source is the first node popped, so its edges are relaxed like
+        // those of any other node (a self loop does not change it, and parallel edges keep the largest weight)
+        status[source] = FRINGER;
         bWidth[source] = Double.POSITIVE_INFINITY;
         setDad(source, ROOT);
-
-        // add adjacent nodes to source
-        LinkedList.Node current = g[source].head;
-        while(current != null) {
-            status[current.data] = FRINGER;
-            bWidth[current.data] = current.weight;
-            setDad(current.data, source);
-
-            // add to max heap
-            maxHeap.add(current.data, current.weight);
-
-            // check next edge
-            current = current.next;
-        }
+        maxHeap.add(source, bWidth[source]);
 
         // main section of algorithm
+        LinkedList.Node current;
         double minTmp;
         int maxFringer = maxHeap.pop();
         while(maxFringer != -1) {
             // set largest fringer as intree
             status[maxFringer] = INTREE;
+            // bandwidth of the target is final once it is popped
+            if(maxFringer == target)
+                return;
 
             // for all adjacent nodes to largest fringer
             current = g[maxFringer].head;
@@ -57,8 +103,7 @@ public class DijkstraMaxHeap extends Dijkstra {
                     setDad(current.data, maxFringer);
 
                     // update in max heap
-                    maxHeap.deleteElement(current.data);
-                    maxHeap.add(current.data, minTmp);
+                    maxHeap.increaseKey(current.data, minTmp);
                 }
 
                 // check next edge
@@ -72,4 +117,233 @@ public class DijkstraMaxHeap extends Dijkstra {
                 maxFringer = maxHeap.pop();
         }
     }
+
+    @Override
+    protected void maxBW(Graph g) {
+        int[] status = new int[g.getNumVertices()];
+        // status, dad, and bwdith are initialized to 0 automatically
+        MaxPriorityQueue maxHeap = getQueue(g.getNumVertices());
+
+        // set variables for source node. The source is the first node popped, so its edges are relaxed like
+        // those of any other node (a self loop does not change it, and parallel edges keep the largest weight)
+        status[source] = FRINGER;
+        bWidth[source] = Double.POSITIVE_INFINITY;
+        setDad(source, ROOT);
+        maxHeap.add(source, bWidth[source]);
+
+        // main section of algorithm
+        int w;
+        double minTmp;
+        int maxFringer = maxHeap.pop();
+        while(maxFringer != -1) {
+            // set largest fringer as intree
+            status[maxFringer] = INTREE;
+            // bandwidth of the target is final once it is popped
+            if(maxFringer == target)
+                return;
+
+            // for all adjacent nodes to largest fringer
+            for(int e = g.getStart(maxFringer); e < g.getEnd(maxFringer); e++) {
+                w = g.getTarget(e);
+                minTmp = bWidth[maxFringer] < g.getWeight(e) ? bWidth[maxFringer] : g.getWeight(e);
+                if(status[w] == UNSEEN) {
+                    status[w] = FRINGER;
+                    bWidth[w] = minTmp;
+                    setDad(w, maxFringer);
+
+                    // add to max heap
+                    maxHeap.add(w, minTmp);
+                } else if(status[w] == FRINGER && bWidth[w] < minTmp) {
+                    bWidth[w] = minTmp;
+                    setDad(w, maxFringer);
+
+                    // update in max heap
+                    maxHeap.increaseKey(w, minTmp);
+                }
+            }
+
+            // pick fringer with largest bwidth
+            if(maxHeap.isEmpty())
+                maxFringer = -1;
+            else
+                maxFringer = maxHeap.pop();
+        }
+    }
+
+    /**
+     * Changes the weight of the edge (u, v) in place and repairs the tree. Unlike building the new graph with
+     * CsrGraph.withWeight, nothing is copied, so the cost only depends on the labels that change.
+     *
+     * @param g the graph of the tree
+     * @param u first endpoint
+     * @param v second endpoint
+     * @param weight new weight of the edge
+     * @return number of nodes whose bandwidth or parent was recomputed
+     */
+    public int updateEdge(MutableCsrGraph g, int u, int v, double weight) {
+        if(target != NO_TARGET)
+            throw new IllegalStateException("Only a whole tree can be updated");
+        g.setWeight(u, v, weight);
+        return updateEdge((Graph) g, u, v);
+    }
+
+    /**
+     * Repairs the tree after the weight of the edge (u, v) changed, without running the whole algorithm again.
+     * Only the whole tree (NO_TARGET) can be repaired.
+     *  - if the edge is in the tree and now gives less bandwidth to its child, the nodes below it whose bandwidth
+     *    was larger than the new one lose their labels, and they are recomputed with the heap starting from the edges
+     *    to the rest of the tree
+     *  - if the edge now gives more bandwidth to an endpoint, the increase is propagated with the heap
+     * The cost depends on the number of nodes whose label changes and their edges (plus whatever the caller paid
+     * to build g, O(m) with CsrGraph.withWeight).
+     *
+     * @param g the graph with the new weight (same nodes and edges as the graph of the tree)
+     * @param u first endpoint
+     * @param v second endpoint
+     * @return number of nodes whose bandwidth or parent was recomputed
+     */
+    public int updateEdge(Graph g, int u, int v) {
+        if(target != NO_TARGET)
+            throw new IllegalStateException("Only a whole tree can be updated");
+        int n = g.getNumVertices();
+        if(repairHeap == null) {
+            repairHeap = new MaxHeap(n);
+            invalid = new boolean[n];
+            invalidNodes = new int[n];
+        }
+        repairHeap.clear();
+
+        // heaviest edge between u and v
+        double w = Double.NEGATIVE_INFINITY;
+        for(int e = g.getStart(u); e < g.getEnd(u); e++) {
+            if(g.getTarget(e) == v && g.getWeight(e) > w)
+                w = g.getWeight(e);
+        }
+        if(w == Double.NEGATIVE_INFINITY || u == v)
+            return 0;
+
+        int changed = 0;
+        if(getDad(v) == u)
+            changed += repairSubtree(g, v, Math.min(bWidth[u], w));
+        else if(getDad(u) == v)
+            changed += repairSubtree(g, u, Math.min(bWidth[v], w));
+
+        // propagate increases from both endpoints
+        offer(u, v, w);
+        offer(v, u, w);
+        int x, y;
+        double minTmp;
+        while(!repairHeap.isEmpty()) {
+            x = repairHeap.pop();
+            changed++;
+            for(int e = g.getStart(x); e < g.getEnd(x); e++) {
+                y = g.getTarget(e);
+                minTmp = bWidth[x] < g.getWeight(e) ? bWidth[x] : g.getWeight(e);
+                offerValue(y, x, minTmp);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Improves the bandwidth of x through the edge from y with weight w
+     */
+    private void offer(int x, int y, double w) {
+        if(getDad(y) != UNREACHABLE)
+            offerValue(x, y, bWidth[y] < w ? bWidth[y] : w);
+    }
+
+    private void offerValue(int x, int dad, double bw) {
+        if(bw > bWidth[x] || (getDad(x) == UNREACHABLE && x != dad)) {
+            bWidth[x] = bw;
+            setDad(x, dad);
+            if(repairHeap.contains(x))
+                repairHeap.increaseKey(x, bw);
+            else
+                repairHeap.add(x, bw);
+        }
+    }
+
+    /**
+     * Recomputes the labels below child after the bandwidth of its tree edge dropped to capacity
+     *
+     * @return number of nodes whose label was recomputed
+     */
+    private int repairSubtree(Graph g, int child, double capacity) {
+        if(bWidth[child] <= capacity)
+            return 0;
+
+        // nodes below child whose bandwidth is larger than the new capacity (the rest keep their path)
+        int size = 0;
+        invalidNodes[size++] = child;
+        invalid[child] = true;
+        int x, y;
+        for(int k=0; k < size; k++) {
+            x = invalidNodes[k];
+            for(int e = g.getStart(x); e < g.getEnd(x); e++) {
+                y = g.getTarget(e);
+                if(!invalid[y] && getDad(y) == x && bWidth[y] > capacity) {
+                    invalid[y] = true;
+                    invalidNodes[size++] = y;
+                }
+            }
+        }
+        int dad = getDad(child);
+        for(int k=0; k < size; k++) {
+            bWidth[invalidNodes[k]] = Double.NEGATIVE_INFINITY;
+            setDad(invalidNodes[k], UNREACHABLE);
+        }
+
+        // every invalid node can still get the new capacity through the edge from the old parent of child.
+        // Nodes below the invalid ones (whose path goes through them) have bandwidth at most the capacity, so only
+        // edges from the rest of the tree that give more than the capacity are used, which keeps the tree acyclic
+        bWidth[child] = capacity;
+        setDad(child, dad);
+        double minTmp;
+        for(int k=0; k < size; k++) {
+            x = invalidNodes[k];
+            for(int e = g.getStart(x); e < g.getEnd(x); e++) {
+                y = g.getTarget(e);
+                if(invalid[y] || getDad(y) == UNREACHABLE)
+                    continue;
+                minTmp = bWidth[y] < g.getWeight(e) ? bWidth[y] : g.getWeight(e);
+                if(minTmp > capacity && minTmp > bWidth[x]) {
+                    bWidth[x] = minTmp;
+                    setDad(x, y);
+                }
+            }
+            if(getDad(x) != UNREACHABLE)
+                repairHeap.add(x, bWidth[x]);
+        }
+
+        // Dijkstra restricted to the invalid nodes
+        while(!repairHeap.isEmpty()) {
+            x = repairHeap.pop();
+            invalid[x] = false;
+            for(int e = g.getStart(x); e < g.getEnd(x); e++) {
+                y = g.getTarget(e);
+                if(!invalid[y])
+                    continue;
+                minTmp = bWidth[x] < g.getWeight(e) ? bWidth[x] : g.getWeight(e);
+                if(minTmp > bWidth[y]) {
+                    bWidth[y] = minTmp;
+                    setDad(y, x);
+                    if(repairHeap.contains(y))
+                        repairHeap.increaseKey(y, minTmp);
+                    else
+                        repairHeap.add(y, minTmp);
+                }
+            }
+        }
+
+        // invalid nodes that were not reached again
+        for(int k=0; k < size; k++) {
+            x = invalidNodes[k];
+            if(invalid[x]) {
+                invalid[x] = false;
+                bWidth[x] = 0;
+            }
+        }
+        return size;
+    }
 }
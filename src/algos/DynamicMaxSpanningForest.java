@@ -0,0 +1,329 @@
+package algos;
+
+import datastruct.Graph;
+import datastruct.LinkCutTree;
+import datastruct.LinkedList;
+
+import java.util.Arrays;
+
+/**
+ * Maximum spanning forest of a graph whose edges change, answering max bandwidth queries after every change.
+ *
+ * The forest is kept in a link-cut tree where every tree edge is also a node holding its weight (nodes have weight
+ * +inf), so the bandwidth between two nodes is the minimum on their path, in O(log n).
+ *  - inserting an edge that closes a cycle replaces the lightest edge of the cycle if the new edge is heavier
+ *  - deleting a tree edge reconnects the two pieces with the heaviest edge between them. Both pieces are explored
+ *    at the same time (BFS over the forest edges) until the smaller one is complete, and its edges are scanned,
+ *    so the cost is proportional to the edges of the smaller piece instead of the whole graph
+ *  - updating a weight only changes the forest when the edge may enter or leave it
+ *
+ * Edges are identified by the id returned by insertEdge. Not thread safe.
+ */
+public class DynamicMaxSpanningForest {
+    private static final int NONE = -1;
+
+    private final int nVertices;
+    // forest with vertices 0..n-1 and tree edges n..2n-2
+    private final LinkCutTree forest;
+    // link-cut tree nodes not used by a tree edge
+    private final int[] freeNodes;
+    private int nFree;
+
+    // endpoints and weight of each edge
+    private int[] from = new int[16];
+    private int[] to = new int[16];
+    private double[] weight = new double[16];
+    // link-cut tree node of each tree edge (NONE for non-tree and deleted edges)
+    private int[] treeNode = new int[16];
+    private boolean[] deleted = new boolean[16];
+    private int nEdges = 0;
+    // edge of each link-cut tree node
+    private final int[] nodeEdge;
+    private int nNonTree = 0;
+
+    // edges of each node (deleted edges are dropped when found)
+    private final int[][] adj;
+    private final int[] degree;
+    // BFS of the two pieces left by a deleted tree edge: queues, visit stamp of each node and piece of each stamp
+    private final int[] queue1;
+    private final int[] queue2;
+    private final int[] visited;
+    private int stamp = 0;
+
+    public DynamicMaxSpanningForest(int nVertices) {
+        this.nVertices = nVertices;
+        this.forest = new LinkCutTree(2 * nVertices);
+        this.freeNodes = new int[nVertices];
+        for(int k = 2 * nVertices - 2; k >= nVertices; k--)
+            freeNodes[nFree++] = k;
+        this.nodeEdge = new int[2 * nVertices];
+        this.adj = new int[nVertices][];
+        this.degree = new int[nVertices];
+        this.queue1 = new int[nVertices];
+        this.queue2 = new int[nVertices];
+        this.visited = new int[nVertices];
+    }
+
+    /**
+     * Creates the forest of a graph. Edge ids are given in adjacency order (each undirected edge once).
+     */
+    public DynamicMaxSpanningForest(LinkedList[] g) {
+        this(g.length);
+        LinkedList.Node current;
+        for(int k=0; k < g.length; k++) {
+            current = g[k].head;
+            while(current != null) {
+                if(k < current.data)
+                    insertEdge(k, current.data, current.weight);
+                current = current.next;
+            }
+        }
+    }
+
+    public DynamicMaxSpanningForest(Graph g) {
+        this(g.getNumVertices());
+        int w;
+        for(int v=0; v < g.getNumVertices(); v++) {
+            for(int e = g.getStart(v); e < g.getEnd(v); e++) {
+                w = g.getTarget(e);
+                if(v < w)
+                    insertEdge(v, w, g.getWeight(e));
+            }
+        }
+    }
+
+    /**
+     * Adds the undirected edge (u, v)
+     *
+     * @param u first endpoint
+     * @param v second endpoint
+     * @param w weight of the edge
+     * @return id of the new edge
+     */
+    public int insertEdge(int u, int v, double w) { // O(log n) amortized
+        if(u < 0 || u >= nVertices || v < 0 || v >= nVertices)
+            throw new IndexOutOfBoundsException();
+
+        if(nEdges == from.length) {
+            from = Arrays.copyOf(from, 2 * nEdges);
+            to = Arrays.copyOf(to, 2 * nEdges);
+            weight = Arrays.copyOf(weight, 2 * nEdges);
+            treeNode = Arrays.copyOf(treeNode, 2 * nEdges);
+            deleted = Arrays.copyOf(deleted, 2 * nEdges);
+        }
+        int e = nEdges++;
+        from[e] = u;
+        to[e] = v;
+        weight[e] = w;
+        treeNode[e] = NONE;
+        addIncident(u, e);
+        if(v != u)
+            addIncident(v, e);
+        add(e);
+        return e;
+    }
+
+    /**
+     * Removes an edge
+     *
+     * @param e id of the edge
+     */
+    public void deleteEdge(int e) { // O(log n) amortized for non-tree edges, O(edges of smaller piece) for tree edges
+        checkEdge(e);
+        deleted[e] = true;
+        if(treeNode[e] == NONE) {
+            nNonTree--;
+        } else {
+            cut(e);
+            reconnect(e);
+        }
+    }
+
+    /**
+     * Changes the weight of an edge
+     *
+     * @param e id of the edge
+     * @param w new weight
+     */
+    public void updateWeight(int e, double w) {
+        checkEdge(e);
+        if(treeNode[e] != NONE) {
+            if(w >= weight[e]) {
+                // a heavier tree edge stays in the forest
+                weight[e] = w;
+                forest.setValue(treeNode[e], w);
+            } else {
+                // a lighter tree edge may be replaced by a non-tree edge between its two pieces
+                cut(e);
+                weight[e] = w;
+                nNonTree++;
+                reconnect(e);
+            }
+        } else if(w <= weight[e]) {
+            // a lighter non-tree edge stays out of the forest
+            weight[e] = w;
+        } else {
+            weight[e] = w;
+            nNonTree--;
+            add(e);
+        }
+    }
+
+    /**
+     * Returns the max bandwidth between source and target
+     *
+     * @param source source node
+     * @param target target node
+     * @return the max bandwidth (0 if target cannot be reached)
+     */
+    public double getBandWidth(int source, int target) { // O(log n) amortized
+        if(source == target)
+            return Double.POSITIVE_INFINITY;
+        if(!forest.connected(source, target))
+            return 0;
+        return forest.getValue(forest.pathMin(source, target));
+    }
+
+    public double getWeight(int e) {
+        return weight[e];
+    }
+
+    public boolean isTreeEdge(int e) {
+        return treeNode[e] != NONE;
+    }
+
+    public int getNumVertices() {
+        return nVertices;
+    }
+
+    /**
+     * Returns the number of edges in the forest
+     */
+    public int getTreeSize() {
+        return Math.max(0, nVertices - 1) - nFree;
+    }
+
+    /**
+     * Returns the number of edges in the graph
+     */
+    public int getNumEdges() {
+        return getTreeSize() + nNonTree;
+    }
+
+    private void checkEdge(int e) {
+        if(e < 0 || e >= nEdges || deleted[e])
+            throw new IllegalArgumentException("No edge with id " + e);
+    }
+
+    /**
+     * Adds an edge that is not in the forest, replacing the lightest edge of the cycle it closes if it is heavier
+     */
+    private void add(int e) {
+        int u = from[e];
+        int v = to[e];
+        if(u == v) {
+            nNonTree++;
+        } else if(!forest.connected(u, v)) {
+            link(e);
+        } else {
+            int min = forest.pathMin(u, v);
+            if(forest.getValue(min) < weight[e]) {
+                cut(nodeEdge[min]);
+                link(e);
+            }
+            nNonTree++;
+        }
+    }
+
+    /**
+     * Links the two pieces left after cutting edge removed with the heaviest non-tree edge between them
+     */
+    private void reconnect(int removed) {
+        if(stamp >= Integer.MAX_VALUE - 2) {
+            Arrays.fill(visited, 0);
+            stamp = 0;
+        }
+        // explore both pieces one node at a time until one of them is complete
+        int stamp1 = ++stamp;
+        int stamp2 = ++stamp;
+        queue1[0] = from[removed];
+        queue2[0] = to[removed];
+        visited[from[removed]] = stamp1;
+        visited[to[removed]] = stamp2;
+        int head1 = 0, tail1 = 1, head2 = 0, tail2 = 1;
+        while(head1 < tail1 && head2 < tail2) {
+            tail1 = expand(queue1[head1++], queue1, tail1, stamp1);
+            tail2 = expand(queue2[head2++], queue2, tail2, stamp2);
+        }
+        int[] piece = head1 == tail1 ? queue1 : queue2;
+        int size = head1 == tail1 ? tail1 : tail2;
+        int pieceStamp = head1 == tail1 ? stamp1 : stamp2;
+
+        // heaviest non-tree edge leaving the smaller piece
+        int best = NONE;
+        int x, e;
+        for(int k=0; k < size; k++) {
+            x = piece[k];
+            for(int i=0; i < degree[x]; i++) {
+                e = adj[x][i];
+                if(treeNode[e] == NONE && !deleted[e] && visited[from[e] == x ? to[e] : from[e]] != pieceStamp
+                        && (best == NONE || weight[e] > weight[best]))
+                    best = e;
+            }
+        }
+        if(best != NONE) {
+            nNonTree--;
+            link(best);
+        }
+    }
+
+    /**
+     * Adds to the queue the unvisited forest neighbors of x, dropping deleted edges from its list
+     *
+     * @return the new end of the queue
+     */
+    private int expand(int x, int[] queue, int tail, int pieceStamp) {
+        int e, y;
+        for(int i=0; i < degree[x]; i++) {
+            e = adj[x][i];
+            if(deleted[e]) {
+                adj[x][i--] = adj[x][--degree[x]];
+                continue;
+            }
+            if(treeNode[e] != NONE) {
+                y = from[e] == x ? to[e] : from[e];
+                if(visited[y] != pieceStamp) {
+                    visited[y] = pieceStamp;
+                    queue[tail++] = y;
+                }
+            }
+        }
+        return tail;
+    }
+
+    private void addIncident(int x, int e) {
+        if(adj[x] == null)
+            adj[x] = new int[4];
+        else if(degree[x] == adj[x].length)
+            adj[x] = Arrays.copyOf(adj[x], 2 * degree[x]);
+        adj[x][degree[x]++] = e;
+    }
+
+    private void link(int e) {
+        int node = freeNodes[--nFree];
+        treeNode[e] = node;
+        nodeEdge[node] = e;
+        forest.setValue(node, weight[e]);
+        forest.link(from[e], node);
+        forest.link(node, to[e]);
+    }
+
+    private void cut(int e) {
+        int node = treeNode[e];
+        forest.cut(from[e], node);
+        forest.cut(node, to[e]);
+        forest.setValue(node, Double.POSITIVE_INFINITY);
+        treeNode[e] = NONE;
+        freeNodes[nFree++] = node;
+    }
+}
@@ -1,90 +1,407 @@
 package algos;
 
+import datastruct.EdgeList;
+import datastruct.Graph;
 import datastruct.LinkedList;
-import datastruct.MaxHeap;
+import datastruct.RadixSort;
+import datastruct.SparseTable;
 import datastruct.UnionFind;
 
-public class Kruskal {
-    // imp use another sorting algorithm instead of heapsort (linear time sorting)
+import java.util.Arrays;
 
+public class Kruskal {
     // maximum spanning tree
     private final LinkedList[] maxSpanningTree;
 
+    // Kruskal reconstruction tree (KRT): leaves 0..n-1 are the nodes of the graph and every union done by Kruskal
+    // adds an internal node whose children are the two merged pieces and whose weight is the weight of the edge.
+    // Weights decrease towards the root, so the bandwidth between two nodes is the weight of their lowest common
+    // ancestor. In an in-order traversal of the KRT, that ancestor is the lightest internal node between the two
+    // leaves, so the KRT is stored as the position of each leaf in the in-order traversal and the weights between
+    // consecutive leaves, and the LCA becomes a range minimum query.
+
+    // position of each node in the in-order traversal of the KRT leaves
+    private int[] leafPos;
+    // range minimum over the bandwidth between consecutive leaves (0 between leaves in different trees)
+    private SparseTable leafBandWidth;
+
+    // spanning forest rooted at the smallest node of each tree, with binary lifting tables for the LCA
+    // ancestor[k][x] is the 2^k-th ancestor of x (roots are their own ancestor)
+    private int[][] ancestor;
+    private int[] depth;
+    // root of the tree of each node
+    private int[] treeRoot;
+
     public Kruskal(LinkedList[] g) {
         this.maxSpanningTree = new LinkedList[g.length];
         // run max spanning tree
         maxSpanningTree(g);
     }
 
+    public Kruskal(Graph g) {
+        this(g, false);
+    }
+
+    /**
+     * Builds the maximum spanning tree and its query indices
+     *
+     * @param g the graph
+     * @param parallel true to select the tree edges with parallel Boruvka rounds (same tree as the sequential scan)
+     */
+    public Kruskal(Graph g, boolean parallel) {
+        this.maxSpanningTree = new LinkedList[g.getNumVertices()];
+        // run max spanning tree
+        if(parallel)
+            maxSpanningTreeParallel(EdgeList.of(g));
+        else
+            maxSpanningTree(g);
+    }
+
+    /**
+     * Returns the max bandwidth path from source to target (or null if target cannot be reached).
+     * The weight of every node is the bandwidth of the path.
+     *
+     * @param source source node
+     * @param target target node
+     * @return the path
+     */
     public LinkedList getPath(int source, int target) {
-        return DFS.dfs_main(maxSpanningTree, source, target);
+        int[] nodes = getPathNodes(source, target);
+        if(nodes == null)
+            return null;
+
+        double bw = getBandWidth(source, target);
+        LinkedList p = new LinkedList();
+        for(int k = nodes.length - 1; k >= 0; k--)
+            p.add(nodes[k], bw);
+        return p;
     }
 
-    public double getBandWidth(int source, int target) {
-        return getPath(source, target).head.weight;
+    /**
+     * Returns the nodes in the spanning tree path from source to target
+     *
+     * @param source source node
+     * @param target target node
+     * @return the nodes of the path (source first), or null if target cannot be reached
+     */
+    public int[] getPathNodes(int source, int target) { // O(log n + path length)
+        if(treeRoot[source] != treeRoot[target])
+            return null;
+
+        int lca = lca(source, target);
+        int[] path = new int[depth[source] + depth[target] - 2 * depth[lca] + 1];
+        // from source up to the lca
+        int idx = 0;
+        for(int x = source; x != lca; x = ancestor[0][x])
+            path[idx++] = x;
+        path[idx] = lca;
+        // from target up to the lca, filling the path backwards
+        idx = path.length - 1;
+        for(int x = target; x != lca; x = ancestor[0][x])
+            path[idx--] = x;
+        return path;
     }
 
-    private void maxSpanningTree(LinkedList[] g) {
-        int n = g.length;
+    /**
+     * Lowest common ancestor of two nodes in the same tree using the binary lifting tables
+     */
+    private int lca(int u, int v) { // O(log n)
+        if(depth[u] < depth[v]) {
+            int tmp = u;
+            u = v;
+            v = tmp;
+        }
+        // lift u to the depth of v
+        int diff = depth[u] - depth[v];
+        for(int k=0; diff != 0; k++, diff >>= 1) {
+            if((diff & 1) != 0)
+                u = ancestor[k][u];
+        }
+        if(u == v)
+            return u;
+        // lift both while their ancestors are different
+        for(int k = ancestor.length - 1; k >= 0; k--) {
+            if(ancestor[k][u] != ancestor[k][v]) {
+                u = ancestor[k][u];
+                v = ancestor[k][v];
+            }
+        }
+        return ancestor[0][u];
+    }
+
+    /**
+     * Returns the max bandwidth between source and target using the KRT, without searching the spanning tree
+     *
+     * @param source source node
+     * @param target target node
+     * @return the max bandwidth (0 if target cannot be reached)
+     */
+    public double getBandWidth(int source, int target) { // O(1)
+        if(source == target)
+            return Double.POSITIVE_INFINITY;
+        int a = leafPos[source];
+        int b = leafPos[target];
+        return a < b ? leafBandWidth.min(a, b) : leafBandWidth.min(b, a);
+    }
+
+    public static double[] getBandWidths(LinkedList[] g, int[] sources, int[] targets) {
+        return getBandWidths(EdgeList.of(g), g.length, sources, targets);
+    }
+
+    public static double[] getBandWidths(Graph g, int[] sources, int[] targets) {
+        return getBandWidths(EdgeList.of(g), g.getNumVertices(), sources, targets);
+    }
+
+    /**
+     * Answers a batch of max bandwidth queries with a single Kruskal sweep, without building the tree.
+     *
+     * Every piece keeps the list of its pending query endpoints. When two pieces are joined by an edge, the
+     * endpoints of the smaller piece are checked: if the other endpoint of the query is in the larger piece, the
+     * edge weight is the answer, otherwise the endpoint is moved to the merged list. An endpoint is only moved when
+     * its piece at least doubles, so the total cost is O(m + q log n) plus the sort.
+     *
+     * @param edges the edges of the graph
+     * @param n number of nodes in the graph
+     * @param sources source node of each query
+     * @param targets target node of each query
+     * @return the max bandwidth of each query (0 if target cannot be reached)
+     */
+    public static double[] getBandWidths(EdgeList edges, int n, int[] sources, int[] targets) {
+        int q = sources.length;
+        double[] answers = new double[q];
+        boolean[] answered = new boolean[q];
+        int pending = 0;
+
         UnionFind unionFind = new UnionFind(n);
+        // pending query endpoints of each piece (indexed by its root) as a linked list of entries
+        // entry 2i is the source of query i and entry 2i+1 its target
+        int[] head = new int[n];
+        int[] count = new int[n];
+        int[] next = new int[2 * q];
+        for(int k=0; k < n; k++) {
+            unionFind.makeSet(k);
+            head[k] = -1;
+        }
+        for(int i=0; i < q; i++) {
+            if(sources[i] == targets[i]) {
+                answers[i] = Double.POSITIVE_INFINITY;
+                answered[i] = true;
+                continue;
+            }
+            next[2 * i] = head[sources[i]];
+            head[sources[i]] = 2 * i;
+            count[sources[i]]++;
+            next[2 * i + 1] = head[targets[i]];
+            head[targets[i]] = 2 * i + 1;
+            count[targets[i]]++;
+            pending++;
+        }
 
-        // get list of edge
-        double[] edges_weights = new double[(int)(n * (n-1)/2)];
-        Edge[] edges_info = new Edge[edges_weights.length];
+        // sort edges
+        int[] sorted = RadixSort.sort(edges.getWeights(), edges.size(), false);
 
-        int m = 0;
-        LinkedList.Node current;
-        for(int k=0; k< n; k++){
-            current = g[k].head;
-            while(current != null) {
-                // make sure no duplicates by only adding when i > j
-                if(k >= current.data) {
-                    current = current.next;
+        int r1, r2, small, big, root, x, nextX, query, other;
+        for(int k : sorted) {
+            if(pending == 0)
+                break;
+            r1 = unionFind.find(edges.getFrom(k));
+            r2 = unionFind.find(edges.getTo(k));
+            if(r1 == r2)
+                continue;
+
+            if(count[r1] <= count[r2]) {
+                small = r1;
+                big = r2;
+            } else {
+                small = r2;
+                big = r1;
+            }
+            // check the endpoints of the smaller piece
+            for(x = head[small]; x != -1; x = nextX) {
+                nextX = next[x];
+                query = x >> 1;
+                // drop endpoints of answered queries
+                if(answered[query]) {
+                    count[big]--;
                     continue;
                 }
-                // add edge to list
-                edges_weights[m] = current.weight;
-                edges_info[m] = new Edge(k, current.data);
-                m++;
-
-                // go to next node
-                current = current.next;
+                other = (x & 1) == 0 ? targets[query] : sources[query];
+                if(unionFind.find(other) == big) {
+                    answers[query] = edges.getWeight(k);
+                    answered[query] = true;
+                    pending--;
+                    count[big]--;
+                } else {
+                    next[x] = head[big];
+                    head[big] = x;
+                }
             }
+            count[big] += count[small];
+
+            // the merged piece keeps the list of the larger one
+            root = unionFind.union(r1, r2);
+            head[root] = head[big];
+            count[root] = count[big];
+        }
+        return answers;
+    }
+
+    private void maxSpanningTree(LinkedList[] g) {
+        EdgeList edges = EdgeList.of(g);
+        addTreeEdges(edges, RadixSort.sort(edges.getWeights(), edges.size(), false));
+    }
+
+    private void maxSpanningTree(Graph g) {
+        EdgeList edges = EdgeList.of(g);
+        addTreeEdges(edges, RadixSort.sort(edges.getWeights(), edges.size(), false));
+    }
+
+    private void maxSpanningTreeParallel(EdgeList edges) {
+        int[] forest = Boruvka.maxSpanningForest(edges, maxSpanningTree.length);
+        // process the tree edges in the same order as the sequential scan (weight, then index) to build the KRT
+        Arrays.sort(forest);
+        double[] weights = new double[forest.length];
+        for(int k=0; k < forest.length; k++)
+            weights[k] = edges.getWeight(forest[k]);
+        int[] sorted = RadixSort.sort(weights, weights.length, false);
+        for(int k=0; k < sorted.length; k++)
+            sorted[k] = forest[sorted[k]];
+        addTreeEdges(edges, sorted);
+    }
+
+    /**
+     * Scans the edges in the given order, adding to the tree the ones that join two pieces and building the KRT
+     *
+     * @param edges the edges of the graph
+     * @param sorted indices of the edges to scan, by decreasing weight
+     */
+    private void addTreeEdges(EdgeList edges, int[] sorted) {
+        int n = maxSpanningTree.length;
+        UnionFind unionFind = new UnionFind(n);
+        // KRT node of the root of each piece (leaves are 0..n-1, internal node k is n+k)
+        int[] krtNode = new int[n];
+        for(int k=0; k < n; k++) {
             // make set for node
             unionFind.makeSet(k);
             maxSpanningTree[k] = new LinkedList();
+            krtNode[k] = k;
         }
-
-        // sort edges
-        int[] sorted = MaxHeap.heapSort(edges_weights, m, false);
+        int[] left = new int[Math.max(0, n - 1)];
+        int[] right = new int[left.length];
+        double[] weight = new double[left.length];
+        int nInternal = 0;
 
         // main section of algorithm
-        Edge e;
-        int r1,r2;
+        int i,j,r1,r2;
+        double w;
         for(int k : sorted) {
             // get edge
-            e = edges_info[k];
+            i = edges.getFrom(k);
+            j = edges.getTo(k);
+            w = edges.getWeight(k);
             // check if edge is in the same piece
-            r1 = unionFind.find(e.i);
-            r2 = unionFind.find(e.j);
+            r1 = unionFind.find(i);
+            r2 = unionFind.find(j);
             // if in different pieces
             if(r1 != r2) {
                 // add edge to tree
-                maxSpanningTree[e.i].add(e.j, edges_weights[k]);
-                maxSpanningTree[e.j].add(e.i, edges_weights[k]);
+                maxSpanningTree[i].add(j, w);
+                maxSpanningTree[j].add(i, w);
+                // add the union to the KRT
+                left[nInternal] = krtNode[r1];
+                right[nInternal] = krtNode[r2];
+                weight[nInternal] = w;
                 // union of the pieces
-                unionFind.union(r1,r2);
+                krtNode[unionFind.union(r1,r2)] = n + nInternal;
+                nInternal++;
+            }
+        }
+
+        buildLeafIndex(unionFind, krtNode, left, right, weight);
+        buildPathIndex();
+    }
+
+    /**
+     * Roots every tree of the spanning forest (BFS) and builds the binary lifting tables
+     */
+    private void buildPathIndex() {
+        int n = maxSpanningTree.length;
+        int levels = 1;
+        while((1 << levels) < n)
+            levels++;
+        ancestor = new int[levels][n];
+        depth = new int[n];
+        treeRoot = new int[n];
+        Arrays.fill(treeRoot, -1);
+
+        int[] queue = new int[n];
+        int head, tail, x;
+        LinkedList.Node current;
+        for(int r=0; r < n; r++) {
+            if(treeRoot[r] != -1)
+                continue;
+            treeRoot[r] = r;
+            ancestor[0][r] = r;
+            head = 0;
+            tail = 0;
+            queue[tail++] = r;
+            while(head < tail) {
+                x = queue[head++];
+                current = maxSpanningTree[x].head;
+                while(current != null) {
+                    if(treeRoot[current.data] == -1) {
+                        treeRoot[current.data] = r;
+                        ancestor[0][current.data] = x;
+                        depth[current.data] = depth[x] + 1;
+                        queue[tail++] = current.data;
+                    }
+                    current = current.next;
+                }
             }
         }
+
+        for(int k=1; k < levels; k++)
+            for(int v=0; v < n; v++)
+                ancestor[k][v] = ancestor[k - 1][ancestor[k - 1][v]];
     }
 
-    private static class Edge {
-        int i;
-        int j;
+    /**
+     * Traverses the KRT in order to get the position of each leaf and the bandwidth between consecutive leaves
+     */
+    private void buildLeafIndex(UnionFind unionFind, int[] krtNode, int[] left, int[] right, double[] weight) {
+        int n = maxSpanningTree.length;
+        leafPos = new int[n];
+        double[] between = new double[Math.max(0, n - 1)];
+        int[] stack = new int[2 * n];
+        int top, node;
+        int pos = 0;
+        for(int k=0; k < n; k++) {
+            // one KRT for each piece of the spanning forest, pieces are not connected (bandwidth 0)
+            if(unionFind.find(k) != k)
+                continue;
+            if(pos > 0)
+                between[pos - 1] = 0;
 
-        public Edge(int i, int j) {
-            this.i = i;
-            this.j = j;
+            // iterative in-order traversal
+            top = -1;
+            node = krtNode[k];
+            while(node != -1 || top >= 0) {
+                while(node != -1) {
+                    stack[++top] = node;
+                    node = node < n ? -1 : left[node - n];
+                }
+                node = stack[top--];
+                if(node < n) {
+                    leafPos[node] = pos;
+                    pos++;
+                    node = -1;
+                } else {
+                    // all the leaves of the left subtree have been visited
+                    between[pos - 1] = weight[node - n];
+                    node = right[node - n];
+                }
+            }
         }
+        leafBandWidth = new SparseTable(between);
     }
 }
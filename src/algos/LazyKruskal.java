@@ -0,0 +1,58 @@
+package algos;
+
+import datastruct.EdgeList;
+import datastruct.Graph;
+import datastruct.LinkedList;
+import datastruct.MaxHeap;
+import datastruct.UnionFind;
+
+/**
+ * Single pair max bandwidth with Kruskal that stops as soon as source and target are in the same piece.
+ * The edges are put in a max heap built in O(m) and popped in decreasing weight order, so only the edges heavier
+ * than the answer are ever sorted. The edge that joins the two pieces is the bottleneck of the path.
+ */
+public class LazyKruskal {
+    public static double getBandWidth(LinkedList[] g, int source, int target) {
+        return getBandWidth(EdgeList.of(g), g.length, source, target);
+    }
+
+    public static double getBandWidth(Graph g, int source, int target) {
+        return getBandWidth(EdgeList.of(g), g.getNumVertices(), source, target);
+    }
+
+    /**
+     * Returns the max bandwidth between source and target
+     *
+     * @param edges the edges of the graph
+     * @param n number of nodes in the graph
+     * @param source source node
+     * @param target target node
+     * @return the max bandwidth (0 if target cannot be reached)
+     */
+    public static double getBandWidth(EdgeList edges, int n, int source, int target) { // O(m + k log m)
+        if(source == target)
+            return Double.POSITIVE_INFINITY;
+
+        UnionFind unionFind = new UnionFind(n);
+        for(int k=0; k < n; k++)
+            unionFind.makeSet(k);
+
+        // build the max heap O(m)
+        MaxHeap maxHeap = new MaxHeap(edges.getWeights(), edges.size());
+
+        int e, r1, r2;
+        while(!maxHeap.isEmpty()) {
+            // heaviest edge left
+            e = maxHeap.pop();
+            r1 = unionFind.find(edges.getFrom(e));
+            r2 = unionFind.find(edges.getTo(e));
+            if(r1 == r2)
+                continue;
+            unionFind.union(r1, r2);
+            // stop when source and target are joined
+            if(unionFind.find(source) == unionFind.find(target))
+                return edges.getWeight(e);
+        }
+        return 0;
+    }
+}
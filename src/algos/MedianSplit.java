@@ -0,0 +1,184 @@
+package algos;
+
+import datastruct.EdgeList;
+import datastruct.Graph;
+import datastruct.LinkedList;
+import datastruct.UnionFind;
+
+import java.util.Random;
+
+/**
+ * Single pair max bandwidth in expected O(m) time by repeatedly splitting the edges at their median weight.
+ *
+ * Let med be the median weight of the remaining edges:
+ *  - if source and target are connected by the edges heavier than med, the lighter edges can be discarded
+ *  - else, if they are connected by the edges of weight at least med, the bandwidth is med
+ *  - else the bandwidth is smaller than med, so the pieces formed by the edges of weight at least med can be
+ *    contracted into single nodes, and the heavier edges discarded
+ * Each round keeps at most half of the edges and, after dropping nodes without edges, costs O(m) (median by
+ * quickselect, connectivity by union-find), so the total is O(m + m/2 + m/4 + ...) = O(m).
+ */
+public class MedianSplit {
+    public static double getBandWidth(LinkedList[] g, int source, int target) {
+        return getBandWidth(EdgeList.of(g), g.length, source, target);
+    }
+
+    public static double getBandWidth(Graph g, int source, int target) {
+        return getBandWidth(EdgeList.of(g), g.getNumVertices(), source, target);
+    }
+
+    /**
+     * Returns the max bandwidth between source and target
+     *
+     * @param edges the edges of the graph
+     * @param n number of nodes in the graph
+     * @param source source node
+     * @param target target node
+     * @return the max bandwidth (0 if target cannot be reached)
+     */
+    public static double getBandWidth(EdgeList edges, int n, int source, int target) { // O(m) expected
+        if(source == target)
+            return Double.POSITIVE_INFINITY;
+
+        // remaining edges (endpoints renumbered to 0..nv-1)
+        int m = edges.size();
+        int[] from = new int[m];
+        int[] to = new int[m];
+        double[] weights = new double[m];
+        for(int k=0; k < m; k++) {
+            from[k] = edges.getFrom(k);
+            to[k] = edges.getTo(k);
+            weights[k] = edges.getWeight(k);
+        }
+        int nv = n;
+        int s = source;
+        int t = target;
+
+        UnionFind unionFind = new UnionFind(n);
+        // new number of each node when renumbering (valid if stamp[x] == round)
+        int[] label = new int[n];
+        int[] stamp = new int[n];
+        int round = 0;
+        double[] scratch = new double[m];
+        Random rdm = new Random(m);
+
+        if(!connected(unionFind, nv, from, to, weights, m, Double.NEGATIVE_INFINITY, true, s, t))
+            return 0;
+
+        double med;
+        int kept, a, b;
+        while(true) {
+            // median weight (the m/2-th largest)
+            System.arraycopy(weights, 0, scratch, 0, m);
+            med = select(scratch, m, m / 2, rdm);
+
+            if(connected(unionFind, nv, from, to, weights, m, med, false, s, t)) {
+                // keep the edges heavier than med
+                kept = 0;
+                for(int k=0; k < m; k++) {
+                    if(weights[k] > med) {
+                        from[kept] = from[k];
+                        to[kept] = to[k];
+                        weights[kept] = weights[k];
+                        kept++;
+                    }
+                }
+            } else if(connected(unionFind, nv, from, to, weights, m, med, true, s, t)) {
+                return med;
+            } else {
+                // contract the pieces of the edges of weight at least med and keep the lighter edges between pieces
+                kept = 0;
+                for(int k=0; k < m; k++) {
+                    if(weights[k] < med) {
+                        a = unionFind.find(from[k]);
+                        b = unionFind.find(to[k]);
+                        if(a == b)
+                            continue;
+                        from[kept] = a;
+                        to[kept] = b;
+                        weights[kept] = weights[k];
+                        kept++;
+                    }
+                }
+                s = unionFind.find(s);
+                t = unionFind.find(t);
+            }
+            m = kept;
+
+            // renumber the nodes that still have edges, so the next round is O(m) instead of O(n)
+            round++;
+            nv = 0;
+            for(int k=0; k < m; k++) {
+                if(stamp[from[k]] != round) {
+                    stamp[from[k]] = round;
+                    label[from[k]] = nv++;
+                }
+                from[k] = label[from[k]];
+                if(stamp[to[k]] != round) {
+                    stamp[to[k]] = round;
+                    label[to[k]] = nv++;
+                }
+                to[k] = label[to[k]];
+            }
+            // source and target are always endpoints of a remaining edge since they are still connected
+            s = label[s];
+            t = label[t];
+        }
+    }
+
+    /**
+     * Joins the nodes 0..nv-1 with the edges heavier than threshold (or at least threshold if inclusive)
+     * and checks whether s and t end up in the same piece
+     */
+    private static boolean connected(UnionFind unionFind, int nv, int[] from, int[] to, double[] weights, int m,
+                                     double threshold, boolean inclusive, int s, int t) {
+        for(int k=0; k < nv; k++)
+            unionFind.makeSet(k);
+        int r1, r2;
+        for(int k=0; k < m; k++) {
+            if(weights[k] > threshold || (inclusive && weights[k] == threshold)) {
+                r1 = unionFind.find(from[k]);
+                r2 = unionFind.find(to[k]);
+                if(r1 != r2)
+                    unionFind.union(r1, r2);
+            }
+        }
+        return unionFind.find(s) == unionFind.find(t);
+    }
+
+    /**
+     * Returns the k-th largest value (0-based) with quickselect, reordering the array
+     */
+    private static double select(double[] values, int length, int k, Random rdm) { // O(n) expected
+        int lo = 0, hi = length - 1;
+        int lt, gt, i;
+        double pivot, tmp;
+        while(lo < hi) {
+            pivot = values[lo + rdm.nextInt(hi - lo + 1)];
+            // three way partition: [lo, lt) > pivot, [lt, gt] == pivot, (gt, hi] < pivot
+            lt = lo;
+            gt = hi;
+            i = lo;
+            while(i <= gt) {
+                if(values[i] > pivot) {
+                    tmp = values[i];
+                    values[i++] = values[lt];
+                    values[lt++] = tmp;
+                } else if(values[i] < pivot) {
+                    tmp = values[i];
+                    values[i] = values[gt];
+                    values[gt--] = tmp;
+                } else {
+                    i++;
+                }
+            }
+            if(k < lt)
+                hi = lt - 1;
+            else if(k > gt)
+                lo = gt + 1;
+            else
+                return pivot;
+        }
+        return values[k];
+    }
+}
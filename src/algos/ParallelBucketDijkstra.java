@@ -0,0 +1,250 @@
+package algos;
+
+import datastruct.Graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel single source max bandwidth (delta-stepping style).
+ *
+ * The range of edge weights is split into buckets of equal width, and buckets are processed from the largest
+ * bandwidth down. A node is in the bucket of its current bandwidth. Processing a bucket relaxes the edges of all
+ * its nodes in parallel, with an atomic max on the bandwidth of the targets, and repeats with the nodes that improved
+ * and stayed in the bucket until there are none left. An edge never gives a larger bandwidth than its source node,
+ * so once a bucket is done its nodes are final, and nodes that improve into a lower bucket wait for that bucket.
+ *
+ * Bandwidths are min/max of the same weights as in the sequential versions, so they are exactly the same. The parents
+ * are chosen afterwards with a parallel BFS from the source over the tight edges (edges whose weight and source node
+ * give the full bandwidth of the target), so they can differ from other versions when there are ties.
+ */
+public class ParallelBucketDijkstra extends Dijkstra {
+    public static final int DEFAULT_BUCKETS = 256;
+    // nodes relaxed by each parallel task
+    private static final int CHUNK_SIZE = 1 << 10;
+
+    private final ForkJoinPool pool;
+    private final int nBuckets;
+    // bandwidth bits of each node while running (-inf if not reached yet)
+    private AtomicLongArray label;
+    // bucket bounds: bucket b holds bandwidths in (maxWeight - (b+1)*delta, maxWeight - b*delta]
+    private double maxWeight;
+    private double delta;
+
+    public ParallelBucketDijkstra(Graph g, int source) {
+        this(g, source, ForkJoinPool.commonPool(), DEFAULT_BUCKETS);
+    }
+
+    /**
+     * Computes the max bandwidth from source to every node
+     *
+     * @param g the graph
+     * @param source source node
+     * @param pool pool that runs the parallel steps
+     * @param nBuckets number of buckets the range of weights is split into
+     */
+    public ParallelBucketDijkstra(Graph g, int source, ForkJoinPool pool, int nBuckets) {
+        super(g.getNumVertices(), source, NO_TARGET);
+        this.pool = pool;
+        this.nBuckets = Math.max(1, nBuckets);
+        maxBW(g);
+    }
+
+    @Override
+    protected void maxBW(Graph g) {
+        int n = g.getNumVertices();
+        setBuckets(g);
+
+        label = new AtomicLongArray(n);
+        long unreached = Double.doubleToRawLongBits(Double.NEGATIVE_INFINITY);
+        for(int k=0; k < n; k++)
+            label.set(k, unreached);
+        label.set(source, Double.doubleToRawLongBits(Double.POSITIVE_INFINITY));
+
+        // nodes waiting in each bucket (may have duplicates and nodes that moved to a higher bucket)
+        IntList[] buckets = new IntList[nBuckets];
+        for(int b=0; b < nBuckets; b++)
+            buckets[b] = new IntList();
+        buckets[0].add(source);
+
+        // round in which each node was last added to the frontier (to drop duplicates)
+        int[] inFrontier = new int[n];
+        int round = 0;
+        IntList frontier = new IntList();
+        for(int b=0; b < nBuckets; b++) {
+            while(buckets[b].size > 0) {
+                // nodes still in this bucket
+                round++;
+                frontier.size = 0;
+                for(int k=0; k < buckets[b].size; k++) {
+                    int x = buckets[b].data[k];
+                    if(inFrontier[x] != round && getBucket(get(x)) == b) {
+                        inFrontier[x] = round;
+                        frontier.add(x);
+                    }
+                }
+                buckets[b].size = 0;
+
+                // relax in parallel and put the improved nodes in their new bucket
+                for(int[] improved : relax(g, frontier)) {
+                    for(int x : improved)
+                        buckets[getBucket(get(x))].add(x);
+                }
+            }
+        }
+
+        for(int k=0; k < n; k++)
+            bWidth[k] = get(k) == Double.NEGATIVE_INFINITY ? 0 : get(k);
+        setParents(g);
+        label = null;
+    }
+
+    /**
+     * Relaxes the edges of the frontier nodes in parallel
+     *
+     * @return the nodes improved by each task
+     */
+    private int[][] relax(Graph g, IntList frontier) {
+        int size = frontier.size;
+        int[] nodes = frontier.data;
+        int nChunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int[][] improved = new int[nChunks][];
+        run(nChunks, c -> {
+            IntList local = new IntList();
+            int to = Math.min(size, (c + 1) * CHUNK_SIZE);
+            int u, w;
+            double bw, minTmp;
+            for(int k = c * CHUNK_SIZE; k < to; k++) {
+                u = nodes[k];
+                bw = get(u);
+                for(int e = g.getStart(u); e < g.getEnd(u); e++) {
+                    w = g.getTarget(e);
+                    minTmp = bw < g.getWeight(e) ? bw : g.getWeight(e);
+                    if(increase(w, minTmp))
+                        local.add(w);
+                }
+            }
+            improved[c] = Arrays.copyOf(local.data, local.size);
+        });
+        return improved;
+    }
+
+    /**
+     * Chooses the parent of every reached node with a parallel BFS from the source over the tight edges
+     */
+    private void setParents(Graph g) {
+        int n = g.getNumVertices();
+        AtomicIntegerArray parent = new AtomicIntegerArray(n);
+        for(int k=0; k < n; k++)
+            parent.set(k, UNREACHABLE);
+        parent.set(source, ROOT);
+
+        int[] level = {source};
+        while(level.length > 0) {
+            int[] nodes = level;
+            int nChunks = (nodes.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            int[][] next = new int[nChunks][];
+            run(nChunks, c -> {
+                IntList local = new IntList();
+                int to = Math.min(nodes.length, (c + 1) * CHUNK_SIZE);
+                int u, w;
+                double minTmp;
+                for(int k = c * CHUNK_SIZE; k < to; k++) {
+                    u = nodes[k];
+                    for(int e = g.getStart(u); e < g.getEnd(u); e++) {
+                        w = g.getTarget(e);
+                        minTmp = bWidth[u] < g.getWeight(e) ? bWidth[u] : g.getWeight(e);
+                        // claim the node for u if the edge gives its full bandwidth
+                        if(minTmp == bWidth[w] && parent.get(w) == UNREACHABLE
+                                && parent.compareAndSet(w, UNREACHABLE, u))
+                            local.add(w);
+                    }
+                }
+                next[c] = Arrays.copyOf(local.data, local.size);
+            });
+
+            int total = 0;
+            for(int[] x : next)
+                total += x.length;
+            level = new int[total];
+            total = 0;
+            for(int[] x : next) {
+                System.arraycopy(x, 0, level, total, x.length);
+                total += x.length;
+            }
+        }
+
+        for(int k=0; k < n; k++)
+            setDad(k, parent.get(k));
+    }
+
+    /**
+     * Runs the task for every chunk, in the pool if there is more than one chunk
+     */
+    private void run(int nChunks, IntConsumer task) {
+        if(nChunks == 1)
+            task.accept(0);
+        else if(nChunks > 1)
+            pool.submit(() -> IntStream.range(0, nChunks).parallel().forEach(task)).join();
+    }
+
+    private void setBuckets(Graph g) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double w;
+        for(int e=0; e < g.getNumEdges(); e++) {
+            w = g.getWeight(e);
+            if(w != Double.POSITIVE_INFINITY && w != Double.NEGATIVE_INFINITY) {
+                min = Math.min(min, w);
+                max = Math.max(max, w);
+            }
+        }
+        maxWeight = max;
+        delta = max > min ? (max - min) / nBuckets : 0;
+    }
+
+    private int getBucket(double bw) {
+        if(bw >= maxWeight || delta == 0)
+            return 0;
+        double b = (maxWeight - bw) / delta;
+        return b >= nBuckets ? nBuckets - 1 : (int) b;
+    }
+
+    private double get(int x) {
+        return Double.longBitsToDouble(label.get(x));
+    }
+
+    /**
+     * Atomically sets the bandwidth of x to bw if it is larger
+     *
+     * @return true if the bandwidth of x was increased
+     */
+    private boolean increase(int x, double bw) {
+        long bits = Double.doubleToRawLongBits(bw);
+        long current = label.get(x);
+        while(Double.longBitsToDouble(current) < bw) {
+            if(label.compareAndSet(x, current, bits))
+                return true;
+            current = label.get(x);
+        }
+        return false;
+    }
+
+    /**
+     * Growable int array
+     */
+    private static final class IntList {
+        private int[] data = new int[16];
+        private int size = 0;
+
+        private void add(int x) {
+            if(size == data.length)
+                data = Arrays.copyOf(data, 2 * size);
+            data[size++] = x;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package algos;
+
+import datastruct.DenseGraph;
+import datastruct.LinkedList;
+
+import java.util.Arrays;
+
+/**
+ * Maximum spanning forest of a graph stored as an adjacency matrix with Prim's algorithm.
+ * Same loop structure as DijkstraDense but the key of a fringer is the weight of its heaviest edge to the tree.
+ * O(n^2), faster than Kruskal for dense graphs since no edge has to be sorted.
+ */
+public class Prim {
+    // maximum spanning forest
+    private final LinkedList[] maxSpanningTree;
+    // parent of each node in the forest (-1 for the root of each tree)
+    private final int[] dad;
+    // weight of the edge between each node and its parent
+    private final double[] weight;
+
+    public Prim(DenseGraph g) {
+        int n = g.getNumVertices();
+        this.maxSpanningTree = new LinkedList[n];
+        this.dad = new int[n];
+        this.weight = new double[n];
+        for(int k=0; k < n; k++)
+            maxSpanningTree[k] = new LinkedList();
+        maxSpanningTree(g);
+    }
+
+    private void maxSpanningTree(DenseGraph g) { // O(n^2)
+        int n = g.getNumVertices();
+        double[] w = g.getWeights();
+        boolean[] inTree = new boolean[n];
+        // weight of the heaviest edge from each node to the tree (-inf for tree nodes and nodes without edges to it)
+        double[] fringe = new double[n];
+        Arrays.fill(fringe, Double.NEGATIVE_INFINITY);
+        Arrays.fill(dad, -1);
+
+        int next = 0;
+        int row;
+        for(int start=0; start < n; start++) {
+            if(inTree[start])
+                continue;
+            // grow a new tree from the first node not in the forest
+            next = start;
+            while(next != -1) {
+                inTree[next] = true;
+                fringe[next] = Double.NEGATIVE_INFINITY;
+                if(dad[next] != -1) {
+                    maxSpanningTree[next].add(dad[next], weight[next]);
+                    maxSpanningTree[dad[next]].add(next, weight[next]);
+                }
+
+                // relax the row of the new tree node
+                row = g.getRowStart(next);
+                for(int k=0; k < n; k++) {
+                    if(w[row + k] > fringe[k] && !inTree[k]) {
+                        fringe[k] = w[row + k];
+                        weight[k] = w[row + k];
+                        dad[k] = next;
+                    }
+                }
+
+                next = Dijkstra.getMaxFringer(fringe);
+            }
+        }
+    }
+
+    public LinkedList[] getMaxSpanningTree() {
+        return maxSpanningTree;
+    }
+
+    /**
+     * Returns the parent of x in the forest (-1 if x is the root of its tree)
+     */
+    public int getDad(int x) {
+        return dad[x];
+    }
+
+    /**
+     * Returns the weight of the edge between x and its parent
+     */
+    public double getWeight(int x) {
+        return weight[x];
+    }
+}
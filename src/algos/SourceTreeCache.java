@@ -0,0 +1,177 @@
+package algos;
+
+import datastruct.Graph;
+import datastruct.LinkedList;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of single-source max bandwidth trees, so that repeated sources are answered with an array lookup.
+ *
+ * A miss computes the whole tree of the source and stores the parent and bandwidth of every node. Trees are
+ * evicted in least recently used order when the memory used by the stored trees would exceed the byte budget.
+ * Bandwidths are stored as floats when every weight of the graph is exactly a float (so results are the same as
+ * with doubles), and as doubles otherwise.
+ *
+ * Not thread safe.
+ */
+public class SourceTreeCache {
+    // approximate memory used by a tree besides its arrays (objects, array headers and map entry)
+    private static final long ENTRY_OVERHEAD = 128;
+
+    private final WidestPathEngine engine;
+    private final long maxBytes;
+    // true if bandwidths can be stored as floats without losing precision
+    private final boolean floatWeights;
+    // trees by source in access order (least recently used first)
+    private final LinkedHashMap<Integer, Tree> trees = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long bytes = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    /**
+     * Creates an empty cache
+     *
+     * @param g the graph (must not change while the cache is used)
+     * @param maxBytes memory budget for the stored trees
+     */
+    public SourceTreeCache(Graph g, long maxBytes) {
+        this.engine = new WidestPathEngine(g);
+        this.maxBytes = maxBytes;
+
+        boolean exact = true;
+        double w;
+        for(int e=0; e < g.getNumEdges() && exact; e++) {
+            w = g.getWeight(e);
+            exact = (double) (float) w == w;
+        }
+        this.floatWeights = exact;
+    }
+
+    public double getBandWidth(int source, int target) {
+        return getTree(source).getBandWidth(target);
+    }
+
+    /**
+     * Returns the max bandwidth path from source to target (or null if target cannot be reached).
+     * The weight of every node is the bandwidth of the path.
+     */
+    public LinkedList getPath(int source, int target) {
+        Tree tree = getTree(source);
+        if(tree.dad[target] == WidestPathEngine.UNREACHABLE)
+            return null;
+
+        double bw = tree.getBandWidth(target);
+        LinkedList p = new LinkedList();
+        for(int x = target; x != WidestPathEngine.ROOT; x = tree.dad[x])
+            p.add(x, bw);
+        return p;
+    }
+
+    /**
+     * Returns the tree of a source, computing it on a miss
+     */
+    private Tree getTree(int source) {
+        Tree tree = trees.get(source);
+        if(tree != null) {
+            hits++;
+            return tree;
+        }
+        misses++;
+
+        engine.run(source);
+        tree = new Tree(engine, floatWeights);
+        if(tree.bytes > maxBytes)
+            return tree;
+
+        // evict least recently used trees until the new one fits
+        Iterator<Map.Entry<Integer, Tree>> it = trees.entrySet().iterator();
+        while(bytes + tree.bytes > maxBytes) {
+            bytes -= it.next().getValue().bytes;
+            it.remove();
+            evictions++;
+        }
+        trees.put(source, tree);
+        bytes += tree.bytes;
+        return tree;
+    }
+
+    public boolean contains(int source) {
+        return trees.containsKey(source);
+    }
+
+    /**
+     * Returns the number of stored trees
+     */
+    public int size() {
+        return trees.size();
+    }
+
+    /**
+     * Returns the approximate memory used by the stored trees
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public void clear() {
+        trees.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Parent and bandwidth of every node for one source
+     */
+    private static final class Tree {
+        private final int[] dad;
+        // only one of the bandwidth arrays is used
+        private final float[] bWidthFloat;
+        private final double[] bWidth;
+        private final long bytes;
+
+        private Tree(WidestPathEngine engine, boolean floatWeights) {
+            int n = engine.getGraph().getNumVertices();
+            dad = new int[n];
+            for(int k=0; k < n; k++)
+                dad[k] = engine.getDad(k);
+
+            if(floatWeights) {
+                bWidthFloat = new float[n];
+                bWidth = null;
+                for(int k=0; k < n; k++)
+                    bWidthFloat[k] = (float) engine.getBandWidth(k);
+                bytes = ENTRY_OVERHEAD + 8L * n;
+            } else {
+                bWidthFloat = null;
+                bWidth = new double[n];
+                for(int k=0; k < n; k++)
+                    bWidth[k] = engine.getBandWidth(k);
+                bytes = ENTRY_OVERHEAD + 12L * n;
+            }
+        }
+
+        private double getBandWidth(int x) {
+            return bWidth != null ? bWidth[x] : bWidthFloat[x];
+        }
+    }
+}
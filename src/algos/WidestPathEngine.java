@@ -0,0 +1,200 @@
+package algos;
+
+import datastruct.Graph;
+import datastruct.LinkedList;
+import datastruct.MaxHeap;
+import datastruct.MaxPriorityQueue;
+
+import java.util.Arrays;
+
+/**
+ * Max bandwidth query engine (Dijkstra with max heap) that reuses its working arrays between queries.
+ *
+ * Instead of clearing the arrays before each query, every node has a mark that is compared against the base of the
+ * current query: mark < base means unseen, mark == base fringer, and mark == base + 1 in tree. Starting a query only
+ * moves the base, so once the engine is created queries do not allocate.
+ *
+ * An engine is not thread safe, use one engine per thread.
+ */
+public class WidestPathEngine {
+    // Dad array
+    public static final int UNREACHABLE = -1;
+    public static final int ROOT = -2;
+
+    private final Graph g;
+    private final int[] dad;
+    private final double[] bWidth;
+    private final int[] mark;
+    private final MaxPriorityQueue maxHeap;
+    // marks of the current query (base: fringer, base + 1: in tree)
+    private int base = 1;
+    // source of the last query
+    private int source = -1;
+
+    public WidestPathEngine(Graph g) {
+        this(g, new MaxHeap(g.getNumVertices()));
+    }
+
+    /**
+     * Creates an engine that uses the given priority queue for the fringe
+     *
+     * @param g the graph
+     * @param queue priority queue with capacity for all the nodes of g
+     */
+    public WidestPathEngine(Graph g, MaxPriorityQueue queue) {
+        this.g = g;
+        int n = g.getNumVertices();
+        this.dad = new int[n];
+        this.bWidth = new double[n];
+        this.mark = new int[n];
+        this.maxHeap = queue;
+    }
+
+    public Graph getGraph() {
+        return g;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * Computes the max bandwidth from source to every node
+     *
+     * @param source source node
+     */
+    public void run(int source) {
+        maxBW(source, Dijkstra.NO_TARGET);
+    }
+
+    /**
+     * Computes the max bandwidth from source to target, stopping as soon as the target is added to the tree
+     *
+     * @param source source node
+     * @param target target node
+     * @return the max bandwidth (0 if target cannot be reached)
+     */
+    public double maxBandWidth(int source, int target) {
+        maxBW(source, target);
+        return getBandWidth(target);
+    }
+
+    /**
+     * Returns the bandwidth of a node in the last query (0 if not reached)
+     *
+     * @param x the node
+     * @return bandwidth from the source to x
+     */
+    public double getBandWidth(int x) {
+        return mark[x] >= base ? bWidth[x] : 0;
+    }
+
+    /**
+     * Returns the parent of a node in the last query (UNREACHABLE if not reached, ROOT for the source)
+     *
+     * @param x the node
+     * @return parent of x
+     */
+    public int getDad(int x) {
+        return mark[x] >= base ? dad[x] : UNREACHABLE;
+    }
+
+    public boolean isInTree(int x) {
+        return mark[x] == base + 1;
+    }
+
+    /**
+     * Writes the path of the last query from the source to target into the given array
+     *
+     * @param target target node
+     * @param path array where the path is written (size at least the number of nodes in the path)
+     * @return number of nodes in the path (0 if target cannot be reached)
+     */
+    public int getPath(int target, int[] path) {
+        if(getDad(target) == UNREACHABLE)
+            return 0;
+
+        int length = 0;
+        for(int x = target; x != ROOT; x = dad[x])
+            length++;
+        int idx = length;
+        for(int x = target; x != ROOT; x = dad[x])
+            path[--idx] = x;
+        return length;
+    }
+
+    /**
+     * Returns the path of the last query from source to target (or null if target cannot be reached).
+     * The weight of every node is the bandwidth of the path.
+     *
+     * @param target target node
+     * @return the path
+     */
+    public LinkedList getPath(int target) {
+        if(getDad(target) == UNREACHABLE)
+            return null;
+
+        double bw = bWidth[target];
+        LinkedList p = new LinkedList();
+        for(int x = target; x != ROOT; x = dad[x])
+            p.add(x, bw);
+        return p;
+    }
+
+    /**
+     * Starts a new query, resetting the marks only when the base would overflow
+     */
+    private void reset() {
+        if(base >= Integer.MAX_VALUE - 2) {
+            Arrays.fill(mark, 0);
+            base = 1;
+        }
+        base += 2;
+        maxHeap.clear();
+    }
+
+    private void maxBW(int source, int target) {
+        reset();
+        this.source = source;
+        int fringer = base;
+        int inTree = base + 1;
+
+        // set variables for source node
+        mark[source] = inTree;
+        bWidth[source] = Double.POSITIVE_INFINITY;
+        dad[source] = ROOT;
+        if(source == target)
+            return;
+
+        // main section of algorithm, starting with the edges of the source. The source is already in the tree,
+        // so self loops and parallel edges at the source are handled like at any other node
+        int w;
+        double minTmp;
+        int maxFringer = source;
+        while(true) {
+            // for all adjacent nodes to largest fringer
+            for(int e = g.getStart(maxFringer); e < g.getEnd(maxFringer); e++) {
+                w = g.getTarget(e);
+                minTmp = bWidth[maxFringer] < g.getWeight(e) ? bWidth[maxFringer] : g.getWeight(e);
+                if(mark[w] < fringer) {
+                    mark[w] = fringer;
+                    bWidth[w] = minTmp;
+                    dad[w] = maxFringer;
+                    maxHeap.add(w, minTmp);
+                } else if(mark[w] == fringer && bWidth[w] < minTmp) {
+                    bWidth[w] = minTmp;
+                    dad[w] = maxFringer;
+                    maxHeap.increaseKey(w, minTmp);
+                }
+            }
+
+            if(maxHeap.isEmpty())
+                return;
+            // set largest fringer as intree
+            maxFringer = maxHeap.pop();
+            mark[maxFringer] = inTree;
+            if(maxFringer == target)
+                return;
+        }
+    }
+}
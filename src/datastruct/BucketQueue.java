@@ -0,0 +1,150 @@
+package datastruct;
+
+import java.util.Arrays;
+
+/**
+ * Max priority queue for elements 0..size-1 whose keys are integer levels 0..nLevels-1 (Dial's buckets).
+ * Each level is a doubly linked list stored in arrays, so add and increaseKey are O(1).
+ * pop scans down from the highest level that may be non-empty. When keys never exceed the last popped level
+ * (as in max bandwidth Dijkstra) the scan only moves down and a whole run costs O(n + nLevels).
+ */
+public class BucketQueue {
+    private static final int NONE = -1;
+
+    // first element of each level
+    private final int[] head;
+    // next and previous element in the level of each element
+    private final int[] next;
+    private final int[] prev;
+    // level of each element
+    private final int[] level;
+    // true for the elements in the queue
+    private final boolean[] queued;
+    // highest level that may contain elements
+    private int top = NONE;
+    private int size = 0;
+
+    public BucketQueue(int size, int nLevels) {
+        this.head = new int[nLevels];
+        this.next = new int[size];
+        this.prev = new int[size];
+        this.level = new int[size];
+        this.queued = new boolean[size];
+        Arrays.fill(head, NONE);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int x) {
+        return x >= 0 && x < queued.length && queued[x];
+    }
+
+    /**
+     * Return the level of element x (the last level it had if it is no longer in the queue)
+     *
+     * @param x the element
+     * @return level of x
+     */
+    public int getLevel(int x) {
+        return level[x];
+    }
+
+    /**
+     * Inserts a new element
+     *
+     * @param x the element to insert
+     * @param l level of the element
+     */
+    public void add(int x, int l) { // O(1)
+        if(queued[x])
+            throw new IllegalArgumentException("Element " + x + " is already in the queue");
+        queued[x] = true;
+        level[x] = l;
+        prev[x] = NONE;
+        next[x] = head[l];
+        if(head[l] != NONE)
+            prev[head[l]] = x;
+        head[l] = x;
+        if(l > top)
+            top = l;
+        size++;
+    }
+
+    /**
+     * Moves an element of the queue to a higher level
+     *
+     * @param x the element (in the queue)
+     * @param l new level of the element (not lower than the current one)
+     */
+    public void increaseKey(int x, int l) { // O(1)
+        if(!contains(x))
+            throw new IndexOutOfBoundsException();
+        if(l < level[x])
+            throw new IllegalArgumentException("New level is lower than the current one");
+        unlink(x);
+        size--;
+        queued[x] = false;
+        add(x, l);
+    }
+
+    /**
+     * Return an element with the highest level and delete it from the queue
+     * @return element with the highest level
+     */
+    public int pop() { // O(1) amortized when levels are monotone
+        if(isEmpty())
+            throw new IndexOutOfBoundsException();
+        while(head[top] == NONE)
+            top--;
+        int x = head[top];
+        unlink(x);
+        size--;
+        queued[x] = false;
+        return x;
+    }
+
+    private void unlink(int x) {
+        if(prev[x] != NONE)
+            next[prev[x]] = next[x];
+        else
+            head[level[x]] = next[x];
+        if(next[x] != NONE)
+            prev[next[x]] = prev[x];
+    }
+
+    // TEST METHOD
+    public static void main(String[] arg)
+    {
+        BucketQueue queue = new BucketQueue(5, 4);
+        queue.add(0, 1);
+        queue.add(1, 2);
+        queue.add(2, 0);
+        System.out.println(queue.pop());
+        queue.increaseKey(2, 3);
+        System.out.println(queue.pop() + " " + queue.contains(1) + " " + queue.contains(0));
+        // an element that is no longer in the queue cannot be moved, lower levels and duplicates are rejected
+        try {
+            queue.increaseKey(1, 3);
+            System.out.println("increaseKey on a popped element was accepted");
+        } catch(IndexOutOfBoundsException e) {
+            System.out.println("increaseKey on a popped element rejected");
+        }
+        try {
+            queue.increaseKey(0, 0);
+            System.out.println("lower level accepted");
+        } catch(IllegalArgumentException e) {
+            System.out.println("lower level rejected");
+        }
+        try {
+            queue.add(0, 2);
+            System.out.println("duplicate element accepted");
+        } catch(IllegalArgumentException e) {
+            System.out.println("duplicate element rejected");
+        }
+        while(!queue.isEmpty())
+            System.out.print(queue.pop() + " ");
+        System.out.println();
+    }
+}
@@ -0,0 +1,90 @@
+package datastruct;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free union-find that can be shared by several threads.
+ * Roots are linked with compare-and-set, always the smaller root under the larger one (union by index), and find
+ * uses path halving, where each CAS can only move a node closer to its root, so a failed CAS is simply skipped.
+ * All elements start as their own set.
+ */
+public class ConcurrentUnionFind {
+    // value for the root
+    public static final int ROOT = -1;
+    // array that contains for each node its parent in the UnionFind tree
+    private final AtomicIntegerArray dad;
+
+    /**
+     * Holds elements from 0 to size-1, each one in its own set
+     * @param size size of the union find data structure
+     */
+    public ConcurrentUnionFind(int size) {
+        this.dad = new AtomicIntegerArray(size);
+        for(int k=0; k < size; k++)
+            dad.set(k, ROOT);
+    }
+
+    /**
+     * Returns the root of the tree containing x (it may change if other threads do unions at the same time)
+     *
+     * @param x the node we want to find the root of
+     * @return The root of the tree
+     */
+    public int find(int x) {
+        int parent, grandparent;
+        while((parent = dad.get(x)) != ROOT) {
+            grandparent = dad.get(parent);
+            if(grandparent == ROOT)
+                return parent;
+            // path halving: point x to its grandparent
+            dad.compareAndSet(x, parent, grandparent);
+            x = grandparent;
+        }
+        return x;
+    }
+
+    /**
+     * Returns true if x and y are in the same set
+     *
+     * @param x first element
+     * @param y second element
+     * @return whether x and y are in the same set
+     */
+    public boolean sameSet(int x, int y) {
+        while(true) {
+            x = find(x);
+            y = find(y);
+            if(x == y)
+                return true;
+            // x is still a root, so the sets were different at this point
+            if(dad.get(x) == ROOT)
+                return false;
+        }
+    }
+
+    /**
+     * Merges the sets of x and y
+     *
+     * @param x element of the first set
+     * @param y element of the second set
+     * @return true if the sets were merged by this call, false if they were already the same set
+     */
+    public boolean union(int x, int y) {
+        int tmp;
+        while(true) {
+            x = find(x);
+            y = find(y);
+            if(x == y)
+                return false;
+            // link the smaller root under the larger one, so links can never form a cycle
+            if(x > y) {
+                tmp = x;
+                x = y;
+                y = tmp;
+            }
+            if(dad.compareAndSet(x, ROOT, y))
+                return true;
+            // x stopped being a root, retry with the new roots
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package datastruct;
+
+import java.util.Arrays;
+
+/**
+ * Immutable graph stored in compressed sparse row (CSR) format.
+ * The edges of vertex v are the indices [offsets[v], offsets[v+1]) of the targets and weights arrays.
+ * Undirected edges are stored once for each endpoint (two half-edges per edge).
+ */
+public final class CsrGraph implements Graph {
+    // array with the index of the first edge of each vertex (size n+1)
+    private final int[] offsets;
+    // array with the target vertex of each half-edge
+    private final int[] targets;
+    // array with the weight of each half-edge
+    private final double[] weights;
+
+    CsrGraph(int[] offsets, int[] targets, double[] weights) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Converts an adjacency list into a CSR graph.
+     * The edges of each vertex keep the order of its linked list.
+     *
+     * @param g adjacency list of the graph
+     * @return CSR graph with the same edges as g
+     */
+    public static CsrGraph fromLinkedList(LinkedList[] g) { // O(n + m)
+        int n = g.length;
+        int[] offsets = new int[n + 1];
+        for(int k=0; k < n; k++)
+            offsets[k + 1] = offsets[k] + g[k].size();
+
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+        LinkedList.Node current;
+        int e;
+        for(int k=0; k < n; k++) {
+            e = offsets[k];
+            current = g[k].head;
+            while(current != null) {
+                targets[e] = current.data;
+                weights[e] = current.weight;
+                e++;
+                current = current.next;
+            }
+        }
+        return new CsrGraph(offsets, targets, weights);
+    }
+
+    @Override
+    public int getNumVertices() {
+        return offsets.length - 1;
+    }
+
+    @Override
+    public int getNumEdges() {
+        return targets.length;
+    }
+
+    @Override
+    public int getStart(int v) {
+        return offsets[v];
+    }
+
+    @Override
+    public int getEnd(int v) {
+        return offsets[v + 1];
+    }
+
+    @Override
+    public int getDegree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    @Override
+    public int getTarget(int e) {
+        return targets[e];
+    }
+
+    @Override
+    public double getWeight(int e) {
+        return weights[e];
+    }
+
+    /**
+     * Returns a copy of the graph where every edge between u and v has the given weight.
+     * Only the weights are copied, the offsets and targets are shared with this graph. The copy still costs O(m)
+     * time and memory for each change, so for a sequence of changes use toMutable and MutableCsrGraph.setWeight.
+     *
+     * @param u first endpoint
+     * @param v second endpoint
+     * @param weight new weight of the edge
+     * @return the graph with the new weight
+     */
+    public CsrGraph withWeight(int u, int v, double weight) { // O(m)
+        double[] w = weights.clone();
+        boolean found = false;
+        for(int e = offsets[u]; e < offsets[u + 1]; e++) {
+            if(targets[e] == v) {
+                w[e] = weight;
+                found = true;
+            }
+        }
+        for(int e = offsets[v]; e < offsets[v + 1]; e++) {
+            if(targets[e] == u)
+                w[e] = weight;
+        }
+        if(!found)
+            throw new IllegalArgumentException("No edge between " + u + " and " + v);
+        return new CsrGraph(offsets, targets, w);
+    }
+
+    /**
+     * Returns a graph with the same edges whose weights can be changed in place.
+     * The weights are copied once, the offsets and targets are shared with this graph.
+     *
+     * @return mutable copy of the graph
+     */
+    public MutableCsrGraph toMutable() { // O(m)
+        return new MutableCsrGraph(offsets, targets, weights.clone());
+    }
+
+    /**
+     * Builds a CSR graph edge by edge.
+     * Edges are kept in primitive arrays and grouped by vertex when the graph is built.
+     */
+    public static class Builder {
+        private final int nVertices;
+        private int[] from;
+        private int[] to;
+        private double[] weights;
+        // number of undirected edges added
+        private int m = 0;
+
+        public Builder(int nVertices) {
+            this.nVertices = nVertices;
+            this.from = new int[16];
+            this.to = new int[16];
+            this.weights = new double[16];
+        }
+
+        /**
+         * Adds the undirected edge (u, v) with the given weight
+         *
+         * @param u first endpoint
+         * @param v second endpoint
+         * @param weight weight of the edge
+         * @return this builder
+         */
+        public Builder addEdge(int u, int v, double weight) { // O(1) amortized
+            if(u < 0 || u >= nVertices || v < 0 || v >= nVertices)
+                throw new IndexOutOfBoundsException();
+
+            if(m == from.length) {
+                from = Arrays.copyOf(from, 2 * m);
+                to = Arrays.copyOf(to, 2 * m);
+                weights = Arrays.copyOf(weights, 2 * m);
+            }
+            from[m] = u;
+            to[m] = v;
+            weights[m] = weight;
+            m++;
+            return this;
+        }
+
+        /**
+         * Adds every edge of an adjacency list. Each undirected edge is only added once (from its smallest endpoint).
+         *
+         * @param g adjacency list of the graph
+         * @return this builder
+         */
+        public Builder addEdges(LinkedList[] g) {
+            LinkedList.Node current;
+            for(int k=0; k < g.length; k++) {
+                current = g[k].head;
+                while(current != null) {
+                    if(k < current.data)
+                        addEdge(k, current.data, current.weight);
+                    current = current.next;
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Groups the edges by vertex (counting sort) and returns the CSR graph
+         *
+         * @return CSR graph with the added edges
+         */
+        public CsrGraph build() { // O(n + m)
+            int[] offsets = new int[nVertices + 1];
+            for(int k=0; k < m; k++) {
+                offsets[from[k] + 1]++;
+                offsets[to[k] + 1]++;
+            }
+            for(int k=0; k < nVertices; k++)
+                offsets[k + 1] += offsets[k];
+
+            // next free position for each vertex
+            int[] next = Arrays.copyOf(offsets, nVertices);
+            int[] targets = new int[offsets[nVertices]];
+            double[] w = new double[offsets[nVertices]];
+            for(int k=0; k < m; k++) {
+                targets[next[from[k]]] = to[k];
+                w[next[from[k]]++] = weights[k];
+                targets[next[to[k]]] = from[k];
+                w[next[to[k]]++] = weights[k];
+            }
+            return new CsrGraph(offsets, targets, w);
+        }
+    }
+}
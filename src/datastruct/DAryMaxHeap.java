@@ -0,0 +1,187 @@
+package datastruct;
+
+/**
+ * Max heap where every node has d children (d = 2 is the binary MaxHeap).
+ * A larger d makes the heap shallower, so increaseKey and add are cheaper (O(log_d n)) while pop is more expensive
+ * (O(d log_d n)). Dense graphs, with many more increaseKey than pop operations, benefit from d = 4 or 8.
+ */
+public class DAryMaxHeap implements MaxPriorityQueue {
+    // Heap array to store the order
+    private final int[] heap;
+    // Used to store the values of the elements in the heap.
+    private final double[] values;
+    // Used to store the position of the elements in the heap.
+    private final int[] position;
+    // number of children of each node
+    private final int d;
+    // Used to store the index of the last element in the heap.
+    private int last = -1;
+
+    public DAryMaxHeap(int size, int d) {
+        if(d < 2)
+            throw new IllegalArgumentException("d must be at least 2");
+        this.heap = new int[size];
+        this.values = new double[size];
+        this.position = new int[size];
+        this.d = d;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return last < 0;
+    }
+
+    @Override
+    public int size() {
+        return last + 1;
+    }
+
+    @Override
+    public void clear() {
+        last = -1;
+    }
+
+    @Override
+    public int max() { // O(1)
+        if(isEmpty())
+            throw new IndexOutOfBoundsException();
+        return heap[0];
+    }
+
+    @Override
+    public double getValue(int x) {
+        return values[x];
+    }
+
+    @Override
+    public void add(int x, double value) { // O(log_d n)
+        if(x < 0 || x >= heap.length)
+            throw new IndexOutOfBoundsException();
+        if(contains(x))
+            throw new IllegalArgumentException("Element " + x + " is already in the heap");
+        last++;
+        values[x] = value;
+        siftUp(x, last);
+    }
+
+    /**
+     * Returns true if x is in the heap. Positions are not cleared when elements leave the heap, so x is in the heap
+     * only if the heap has x at its position.
+     */
+    @Override
+    public boolean contains(int x) { // O(1)
+        if(x < 0 || x >= position.length)
+            return false;
+        int idx = position[x];
+        return idx >= 0 && idx <= last && heap[idx] == x;
+    }
+
+    @Override
+    public void increaseKey(int x, double value) { // O(log_d n)
+        if(!contains(x))
+            throw new IndexOutOfBoundsException();
+        if(value < values[x])
+            throw new IllegalArgumentException("New value is smaller than the current one");
+        values[x] = value;
+        siftUp(x, position[x]);
+    }
+
+    @Override
+    public int pop() { // O(d log_d n)
+        int x = max();
+        int y = heap[last];
+        last--;
+        if(last >= 0)
+            siftDown(y, 0);
+        return x;
+    }
+
+    /**
+     * Moves element x up from index idx until its parent is not smaller
+     */
+    private void siftUp(int x, int idx) {
+        double value = values[x];
+        int parent;
+        while(idx > 0) {
+            parent = (idx - 1) / d;
+            if(values[heap[parent]] >= value)
+                break;
+            // move parent down
+            heap[idx] = heap[parent];
+            position[heap[idx]] = idx;
+            idx = parent;
+        }
+        heap[idx] = x;
+        position[x] = idx;
+    }
+
+    /**
+     * Moves element x down from index idx until no child is larger
+     */
+    private void siftDown(int x, int idx) {
+        double value = values[x];
+        int first, end, largest;
+        double largestValue;
+        while(true) {
+            first = d * idx + 1;
+            if(first > last)
+                break;
+            // find largest child
+            end = Math.min(first + d, last + 1);
+            largest = first;
+            largestValue = values[heap[first]];
+            for(int c = first + 1; c < end; c++) {
+                if(values[heap[c]] > largestValue) {
+                    largest = c;
+                    largestValue = values[heap[c]];
+                }
+            }
+            if(largestValue <= value)
+                break;
+            // move child up
+            heap[idx] = heap[largest];
+            position[heap[idx]] = idx;
+            idx = largest;
+        }
+        heap[idx] = x;
+        position[x] = idx;
+    }
+
+    // TEST METHOD
+    public static void main(String[] arg)
+    {
+        DAryMaxHeap heap = new DAryMaxHeap(6, 4);
+        heap.add(5, 5);
+        heap.add(4, 4);
+        heap.add(3, 3);
+        heap.add(2, 2);
+        heap.add(1, 1);
+        System.out.println(heap.max());
+        heap.increaseKey(1, 6);
+        System.out.println(heap.max());
+        // smaller values and elements not in the heap are rejected
+        try {
+            heap.increaseKey(2, 1);
+            System.out.println("smaller value accepted");
+        } catch(IllegalArgumentException e) {
+            System.out.println("smaller value rejected");
+        }
+        try {
+            heap.increaseKey(0, 7);
+            System.out.println("missing element accepted");
+        } catch(IndexOutOfBoundsException e) {
+            System.out.println("missing element rejected");
+        }
+        try {
+            heap.add(3, 8);
+            System.out.println("duplicate element accepted");
+        } catch(IllegalArgumentException e) {
+            System.out.println("duplicate element rejected");
+        }
+        System.out.println(heap.contains(1) + " " + heap.contains(0));
+        heap.add(0, 0);
+        while(!heap.isEmpty())
+            System.out.print(heap.pop() + " ");
+        System.out.println();
+    }
+}
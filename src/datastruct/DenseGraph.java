@@ -0,0 +1,104 @@
+package datastruct;
+
+import java.util.Arrays;
+
+/**
+ * Undirected graph stored as an adjacency matrix in a flat row-major array.
+ * The weight of edge (u, v) is at index u*n + v, and NO_EDGE marks missing edges.
+ * Uses n^2 doubles, so it is meant for dense graphs, where scanning a contiguous row is faster than following
+ * the adjacency lists.
+ */
+public final class DenseGraph {
+    // weight of a missing edge (it is never the bandwidth of a path)
+    public static final double NO_EDGE = Double.NEGATIVE_INFINITY;
+
+    private final int nVertices;
+    // weights[u*n + v] is the weight of edge (u, v)
+    private final double[] weights;
+
+    public DenseGraph(int nVertices) {
+        if((long) nVertices * nVertices > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("Too many vertices for a dense graph: " + nVertices);
+        this.nVertices = nVertices;
+        this.weights = new double[nVertices * nVertices];
+        Arrays.fill(weights, NO_EDGE);
+    }
+
+    /**
+     * Converts an adjacency list into a dense graph. Only the heaviest of parallel edges is kept and self loops
+     * are ignored, since neither changes any bandwidth.
+     *
+     * @param g adjacency list of the graph
+     * @return dense graph with the same bandwidths as g
+     */
+    public static DenseGraph fromLinkedList(LinkedList[] g) { // O(n^2 + m)
+        DenseGraph d = new DenseGraph(g.length);
+        LinkedList.Node current;
+        for(int k=0; k < g.length; k++) {
+            current = g[k].head;
+            while(current != null) {
+                d.addEdge(k, current.data, current.weight);
+                current = current.next;
+            }
+        }
+        return d;
+    }
+
+    public static DenseGraph of(Graph g) { // O(n^2 + m)
+        DenseGraph d = new DenseGraph(g.getNumVertices());
+        for(int v=0; v < g.getNumVertices(); v++) {
+            for(int e = g.getStart(v); e < g.getEnd(v); e++)
+                d.addEdge(v, g.getTarget(e), g.getWeight(e));
+        }
+        return d;
+    }
+
+    /**
+     * Adds the undirected edge (u, v). If the edge already exists, it keeps the largest weight.
+     *
+     * @param u first endpoint
+     * @param v second endpoint
+     * @param weight weight of the edge
+     */
+    public void addEdge(int u, int v, double weight) { // O(1)
+        if(u < 0 || u >= nVertices || v < 0 || v >= nVertices)
+            throw new IndexOutOfBoundsException();
+        if(u == v)
+            return;
+        if(weights[u * nVertices + v] < weight) {
+            weights[u * nVertices + v] = weight;
+            weights[v * nVertices + u] = weight;
+        }
+    }
+
+    public int getNumVertices() {
+        return nVertices;
+    }
+
+    /**
+     * Returns the weight of edge (u, v), or NO_EDGE if there is no such edge
+     */
+    public double getWeight(int u, int v) {
+        return weights[u * nVertices + v];
+    }
+
+    public boolean hasEdge(int u, int v) {
+        return weights[u * nVertices + v] != NO_EDGE;
+    }
+
+    /**
+     * Returns the index of the first element of row u in the weights array
+     */
+    public int getRowStart(int u) {
+        return u * nVertices;
+    }
+
+    /**
+     * Returns the row-major weights array (not a copy, must not be modified)
+     *
+     * @return weight of each pair of nodes
+     */
+    public double[] getWeights() {
+        return weights;
+    }
+}
@@ -0,0 +1,111 @@
+package datastruct;
+
+/**
+ * Undirected edges of a graph stored in primitive arrays, each edge once (from its smallest endpoint).
+ * The arrays are sized to the exact number of edges.
+ */
+public final class EdgeList {
+    // endpoints of each edge (from < to)
+    private final int[] from;
+    private final int[] to;
+    private final double[] weights;
+
+    private EdgeList(int[] from, int[] to, double[] weights) {
+        this.from = from;
+        this.to = to;
+        this.weights = weights;
+    }
+
+    /**
+     * Collects the edges of an adjacency list
+     *
+     * @param g adjacency list of the graph
+     * @return the edges of g
+     */
+    public static EdgeList of(LinkedList[] g) { // O(n + m)
+        // count edges
+        int m = 0;
+        LinkedList.Node current;
+        for(int k=0; k < g.length; k++) {
+            current = g[k].head;
+            while(current != null) {
+                if(k < current.data)
+                    m++;
+                current = current.next;
+            }
+        }
+
+        EdgeList edges = new EdgeList(new int[m], new int[m], new double[m]);
+        m = 0;
+        for(int k=0; k < g.length; k++) {
+            current = g[k].head;
+            while(current != null) {
+                // make sure no duplicates by only adding when i < j
+                if(k < current.data) {
+                    edges.from[m] = k;
+                    edges.to[m] = current.data;
+                    edges.weights[m] = current.weight;
+                    m++;
+                }
+                current = current.next;
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * Collects the edges of a graph
+     *
+     * @param g the graph
+     * @return the edges of g
+     */
+    public static EdgeList of(Graph g) { // O(n + m)
+        int n = g.getNumVertices();
+        // count edges
+        int m = 0;
+        for(int k=0; k < n; k++)
+            for(int e = g.getStart(k); e < g.getEnd(k); e++)
+                if(k < g.getTarget(e))
+                    m++;
+
+        EdgeList edges = new EdgeList(new int[m], new int[m], new double[m]);
+        m = 0;
+        for(int k=0; k < n; k++) {
+            for(int e = g.getStart(k); e < g.getEnd(k); e++) {
+                // make sure no duplicates by only adding when i < j
+                if(k < g.getTarget(e)) {
+                    edges.from[m] = k;
+                    edges.to[m] = g.getTarget(e);
+                    edges.weights[m] = g.getWeight(e);
+                    m++;
+                }
+            }
+        }
+        return edges;
+    }
+
+    public int size() {
+        return from.length;
+    }
+
+    public int getFrom(int k) {
+        return from[k];
+    }
+
+    public int getTo(int k) {
+        return to[k];
+    }
+
+    public double getWeight(int k) {
+        return weights[k];
+    }
+
+    /**
+     * Returns the weights array (not a copy, must not be modified)
+     *
+     * @return weight of each edge
+     */
+    public double[] getWeights() {
+        return weights;
+    }
+}
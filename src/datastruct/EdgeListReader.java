@@ -0,0 +1,465 @@
+package datastruct;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Reads an undirected graph from a text edge list with one "src dst bandwidth" record per line.
+ * Fields can be separated by spaces, tabs or commas. Empty lines, comment lines (starting with '#' or '%') and a
+ * first line without digits (a CSV header) are skipped, any other line that is not a record is an error.
+ * Self loops are not added as edges, but their vertex is counted. Vertex ids go from 0 to MAX_ID.
+ *
+ * The file is memory-mapped and split into chunks at line boundaries that are parsed in parallel. It is parsed
+ * three times (find the number of vertices, count the degrees, fill the edges) so that no per-edge data other
+ * than the final CSR arrays is ever kept in memory.
+ */
+public final class EdgeListReader {
+    // largest vertex id, so that the n + 1 offsets of the graph fit in an int array
+    public static final int MAX_ID = Integer.MAX_VALUE - 2;
+
+    // bytes per parsed chunk (a chunk is mapped at once, so it must stay under 2GB)
+    private static final int CHUNK_SIZE = 1 << 26;
+
+    // parsing passes
+    private static final int PASS_SCAN = 0;
+    private static final int PASS_COUNT = 1;
+    private static final int PASS_FILL = 2;
+
+    // powers of ten that are exactly representable as doubles
+    private static final double[] POW10 = new double[23];
+    static {
+        POW10[0] = 1;
+        for(int k=1; k < POW10.length; k++)
+            POW10[k] = POW10[k - 1] * 10;
+    }
+
+    private final FileChannel ch;
+    private final long[] chunks;
+
+    // max vertex id found in each chunk (PASS_SCAN)
+    private final int[] maxIds;
+    // degree of each vertex (PASS_COUNT), then next free edge position of each vertex (PASS_FILL)
+    private AtomicIntegerArray cursors;
+    private int[] targets;
+    private double[] weights;
+
+    private EdgeListReader(FileChannel ch) throws IOException {
+        this.ch = ch;
+        this.chunks = splitChunks(ch);
+        this.maxIds = new int[chunks.length - 1];
+    }
+
+    public static CsrGraph read(Path file) throws IOException {
+        return read(file, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Reads the edge list in the given file
+     *
+     * @param file path of the edge list
+     * @param nThreads number of threads used to parse the file
+     * @return CSR graph with vertices 0..(max id) and the edges of the file
+     * @throws IOException if the file cannot be read or has a malformed record
+     */
+    public static CsrGraph read(Path file, int nThreads) throws IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(nThreads);
+        try(FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            EdgeListReader reader = new EdgeListReader(ch);
+            return reader.read(pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private CsrGraph read(ExecutorService pool) throws IOException {
+        // find number of vertices
+        runPass(pool, PASS_SCAN);
+        int maxId = -1;
+        for(int x : maxIds)
+            maxId = Math.max(maxId, x);
+        int n = maxId + 1;
+
+        // count degrees
+        cursors = new AtomicIntegerArray(n);
+        runPass(pool, PASS_COUNT);
+        int[] offsets = new int[n + 1];
+        long total = 0;
+        for(int k=0; k < n; k++) {
+            total += cursors.get(k);
+            if(total > Integer.MAX_VALUE)
+                throw new IOException("Too many edges for a CSR graph");
+            offsets[k + 1] = (int) total;
+            cursors.set(k, offsets[k]);
+        }
+
+        // fill edges
+        targets = new int[offsets[n]];
+        weights = new double[offsets[n]];
+        runPass(pool, PASS_FILL);
+        cursors = null;
+
+        // threads fill each vertex in arbitrary order, sort so the result does not depend on scheduling
+        List<Future<?>> futures = new ArrayList<>();
+        int step = Math.max(1, n / 64);
+        for(int from = 0; from < n; from += step) {
+            int lo = from;
+            int hi = Math.min(n, from + step);
+            futures.add(pool.submit(() -> {
+                for(int v = lo; v < hi; v++)
+                    sortEdges(targets, weights, offsets[v], offsets[v + 1] - 1);
+            }));
+        }
+        await(futures);
+
+        return new CsrGraph(offsets, targets, weights);
+    }
+
+    private void runPass(ExecutorService pool, int pass) throws IOException {
+        List<Future<?>> futures = new ArrayList<>();
+        for(int k=0; k < chunks.length - 1; k++) {
+            int chunk = k;
+            futures.add(pool.submit(() -> {
+                MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, chunks[chunk],
+                        chunks[chunk + 1] - chunks[chunk]);
+                parse(buf, chunks[chunk], chunk, pass);
+                return null;
+            }));
+        }
+        await(futures);
+    }
+
+    private static void await(List<Future<?>> futures) throws IOException {
+        try {
+            for(Future<?> f : futures)
+                f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Splits the file into chunks of about CHUNK_SIZE bytes that start at the beginning of a line
+     *
+     * @return the start of each chunk followed by the file size
+     */
+    private static long[] splitChunks(FileChannel ch) throws IOException {
+        long size = ch.size();
+        List<Long> starts = new ArrayList<>();
+        starts.add(0L);
+        ByteBuffer b = ByteBuffer.allocate(4096);
+        long pos = CHUNK_SIZE;
+        while(pos < size) {
+            // move to the byte after the next new line
+            boolean found = false;
+            while(!found && pos < size) {
+                b.clear();
+                int read = ch.read(b, pos);
+                for(int k=0; k < read; k++) {
+                    if(b.get(k) == '\n') {
+                        pos += k + 1;
+                        found = true;
+                        break;
+                    }
+                }
+                if(!found)
+                    pos += read;
+            }
+            if(pos < size)
+                starts.add(pos);
+            pos += CHUNK_SIZE;
+        }
+
+        long[] chunks = new long[starts.size() + 1];
+        for(int k=0; k < starts.size(); k++)
+            chunks[k] = starts.get(k);
+        chunks[chunks.length - 1] = size;
+        return chunks;
+    }
+
+    private void parse(ByteBuffer buf, long base, int chunk, int pass) throws IOException {
+        int limit = buf.limit();
+        int maxId = -1;
+        int pos = 0;
+        int u, v, start;
+        long id;
+        double w;
+        byte c;
+        int lineStart;
+        while(pos < limit) {
+            // skip leading blanks
+            lineStart = pos;
+            c = buf.get(pos);
+            while((c == ' ' || c == '\t' || c == '\r') && ++pos < limit)
+                c = buf.get(pos);
+            // ignore empty lines, comments and the header
+            if(pos == limit || c == '\n' || c == '#' || c == '%'
+                    || (base + lineStart == 0 && isHeader(buf, pos, limit))) {
+                while(pos < limit && buf.get(pos) != '\n')
+                    pos++;
+                pos++;
+                continue;
+            }
+            if(c < '0' || c > '9')
+                throw malformed(base + pos);
+
+            // parse source
+            start = pos;
+            id = 0;
+            while(pos < limit && (c = buf.get(pos)) >= '0' && c <= '9' && id <= MAX_ID) {
+                id = id * 10 + (c - '0');
+                pos++;
+            }
+            if(id > MAX_ID)
+                throw idTooLarge(base + start);
+            u = (int) id;
+            pos = skipSeparator(buf, pos, limit, base);
+
+            // parse target
+            start = pos;
+            id = 0;
+            while(pos < limit && (c = buf.get(pos)) >= '0' && c <= '9' && id <= MAX_ID) {
+                id = id * 10 + (c - '0');
+                pos++;
+            }
+            if(pos == start)
+                throw malformed(base + start);
+            if(id > MAX_ID)
+                throw idTooLarge(base + start);
+            v = (int) id;
+            pos = skipSeparator(buf, pos, limit, base);
+
+            // parse bandwidth
+            start = pos;
+            while(pos < limit && (c = buf.get(pos)) != '\n' && c != '\r' && c != ' ' && c != '\t' && c != ',')
+                pos++;
+            if(pos == start)
+                throw malformed(base + start);
+            w = parseDouble(buf, start, pos, base);
+
+            // go to next line
+            while(pos < limit && buf.get(pos) != '\n')
+                pos++;
+            pos++;
+
+            // the vertex of a self loop is counted even if it has no other edge
+            if(pass == PASS_SCAN) {
+                maxId = Math.max(maxId, Math.max(u, v));
+                continue;
+            }
+            if(u == v)
+                continue;
+            switch (pass) {
+                case PASS_COUNT:
+                    cursors.getAndIncrement(u);
+                    cursors.getAndIncrement(v);
+                    break;
+                case PASS_FILL:
+                    int e = cursors.getAndIncrement(u);
+                    targets[e] = v;
+                    weights[e] = w;
+                    e = cursors.getAndIncrement(v);
+                    targets[e] = u;
+                    weights[e] = w;
+                    break;
+            }
+        }
+        if(pass == PASS_SCAN)
+            maxIds[chunk] = maxId;
+    }
+
+    /**
+     * Returns true if the line starting at pos has no digits (a header such as "src,dst,bandwidth")
+     */
+    private static boolean isHeader(ByteBuffer buf, int pos, int limit) {
+        byte c;
+        for(; pos < limit && (c = buf.get(pos)) != '\n'; pos++) {
+            if(c >= '0' && c <= '9')
+                return false;
+        }
+        return true;
+    }
+
+    private static int skipSeparator(ByteBuffer buf, int pos, int limit, long base) throws IOException {
+        int start = pos;
+        byte c;
+        while(pos < limit && ((c = buf.get(pos)) == ' ' || c == '\t' || c == ','))
+            pos++;
+        if(pos == start)
+            throw malformed(base + start);
+        return pos;
+    }
+
+    /**
+     * Parses a decimal number without creating a String.
+     * Numbers with up to 15 significant digits and small exponents are computed exactly (both the digits and the
+     * power of ten are exact doubles), any other number falls back to Double.parseDouble.
+     */
+    private static double parseDouble(ByteBuffer buf, int start, int end, long base) throws IOException {
+        int pos = start;
+        long digits = 0;
+        int nDigits = 0;
+        int exp = 0;
+        boolean negative = false;
+        boolean simple = true;
+        byte c = buf.get(pos);
+        if(c == '-' || c == '+') {
+            negative = c == '-';
+            pos++;
+        }
+        boolean dot = false;
+        for(; pos < end; pos++) {
+            c = buf.get(pos);
+            if(c >= '0' && c <= '9') {
+                if(nDigits < 18) {
+                    digits = digits * 10 + (c - '0');
+                    if(digits != 0)
+                        nDigits++;
+                    if(dot)
+                        exp--;
+                } else if(!dot) {
+                    exp++;
+                }
+            } else if(c == '.' && !dot) {
+                dot = true;
+            } else {
+                simple = false;
+                break;
+            }
+        }
+
+        if(simple && nDigits <= 15 && exp >= -22 && exp <= 22) {
+            double d = exp < 0 ? digits / POW10[-exp] : digits * POW10[exp];
+            return negative ? -d : d;
+        }
+
+        byte[] bytes = new byte[end - start];
+        for(int k=0; k < bytes.length; k++)
+            bytes[k] = buf.get(start + k);
+        try {
+            return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) {
+            throw malformed(base + start);
+        }
+    }
+
+    private static IOException malformed(long pos) {
+        return new IOException("Malformed edge record at byte " + pos);
+    }
+
+    private static IOException idTooLarge(long pos) {
+        return new IOException("Vertex id larger than " + MAX_ID + " at byte " + pos);
+    }
+
+    /**
+     * Sorts the edges in [lo, hi] by target (then weight) with quicksort, moving the weights with the targets
+     */
+    private static void sortEdges(int[] targets, double[] weights, int lo, int hi) {
+        while(lo < hi) {
+            // insertion sort for small ranges
+            if(hi - lo < 16) {
+                for(int i = lo + 1; i <= hi; i++) {
+                    int t = targets[i];
+                    double w = weights[i];
+                    int j = i - 1;
+                    while(j >= lo && (targets[j] > t || (targets[j] == t && weights[j] > w))) {
+                        targets[j + 1] = targets[j];
+                        weights[j + 1] = weights[j];
+                        j--;
+                    }
+                    targets[j + 1] = t;
+                    weights[j + 1] = w;
+                }
+                return;
+            }
+
+            int mid = (lo + hi) >>> 1;
+            int pt = targets[mid];
+            double pw = weights[mid];
+            int i = lo, j = hi;
+            while(i <= j) {
+                while(targets[i] < pt || (targets[i] == pt && weights[i] < pw))
+                    i++;
+                while(targets[j] > pt || (targets[j] == pt && weights[j] > pw))
+                    j--;
+                if(i <= j) {
+                    int t = targets[i];
+                    targets[i] = targets[j];
+                    targets[j] = t;
+                    double w = weights[i];
+                    weights[i] = weights[j];
+                    weights[j] = w;
+                    i++;
+                    j--;
+                }
+            }
+            // recurse on the smaller side
+            if(j - lo < hi - i) {
+                sortEdges(targets, weights, lo, j);
+                lo = i;
+            } else {
+                sortEdges(targets, weights, i, hi);
+                hi = j;
+            }
+        }
+    }
+
+    // TEST METHOD
+    public static void main(String[] arg) throws IOException
+    {
+        Path file = Files.createTempFile("edges", ".txt");
+        try {
+            Files.writeString(file, "# src dst bandwidth\n0 1 5\n1,2,4.5\n2\t2\t9\n");
+            CsrGraph g = read(file, 2);
+            System.out.println(g.getNumVertices() + " " + g.getNumEdges());
+            // header, comment and empty lines are skipped, vertex 3 only has a self loop but is counted
+            Files.writeString(file, "src,dst,bandwidth\n0 1 5\n% comment\n\n3 3 2\n");
+            g = read(file, 1);
+            System.out.println(g.getNumVertices() + " " + g.getNumEdges());
+
+            // lines that are not records are errors (a header is only allowed in the first line)
+            String[] malformed = {"-1 2 7\n", "+2 1 3\n", "O 1 4\n", "0 1 5\nsrc dst bandwidth\n"};
+            for(String line : malformed) {
+                Files.writeString(file, line);
+                try {
+                    read(file, 1);
+                    System.out.println("malformed record accepted");
+                } catch(IOException e) {
+                    System.out.println(e.getMessage());
+                }
+            }
+
+            // ids above MAX_ID (including Integer.MAX_VALUE) are rejected before any array is allocated
+            String[] bad = {"0 " + Integer.MAX_VALUE + " 1\n", Integer.MAX_VALUE + " 0 1\n",
+                    "0 " + (MAX_ID + 1) + " 1\n", "0 99999999999999999999 1\n"};
+            for(String line : bad) {
+                Files.writeString(file, line);
+                try {
+                    read(file, 1);
+                    System.out.println("large id accepted");
+                } catch(IOException e) {
+                    System.out.println(e.getMessage());
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
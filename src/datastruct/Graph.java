@@ -0,0 +1,46 @@
+package datastruct;
+
+/**
+ * Read-only weighted undirected graph with edges indexed by integers.
+ * The edges of vertex v are the indices [getStart(v), getEnd(v)), with getEnd(v) == getStart(v+1).
+ * Undirected edges appear once for each endpoint.
+ */
+public interface Graph {
+    /**
+     * Returns the number of vertices in the graph
+     *
+     * @return number of vertices
+     */
+    int getNumVertices();
+
+    /**
+     * Returns the number of half-edges in the graph (twice the number of undirected edges)
+     *
+     * @return number of half-edges
+     */
+    int getNumEdges();
+
+    /**
+     * Returns the index of the first edge of vertex v
+     *
+     * @param v the vertex
+     * @return index of the first edge of v
+     */
+    int getStart(int v);
+
+    /**
+     * Returns the index after the last edge of vertex v
+     *
+     * @param v the vertex
+     * @return index after the last edge of v
+     */
+    int getEnd(int v);
+
+    int getTarget(int e);
+
+    double getWeight(int e);
+
+    default int getDegree(int v) {
+        return getEnd(v) - getStart(v);
+    }
+}
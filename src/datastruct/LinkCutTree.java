@@ -0,0 +1,224 @@
+package datastruct;
+
+/**
+ * Link-cut tree (Sleator and Tarjan) over a forest of nodes 0..size-1 with a value in every node.
+ * Supports linking and cutting trees, connectivity and the node with the minimum value on the path between two
+ * nodes, all in O(log n) amortized.
+ *
+ * Each preferred path is kept in a splay tree ordered by depth, where every node also stores the node with the
+ * minimum value in its subtree. Rerooting reverses a path lazily with a flag.
+ */
+public class LinkCutTree {
+    private static final int NIL = -1;
+
+    // splay tree children and parent (the parent of a splay tree root is the path parent)
+    private final int[] left;
+    private final int[] right;
+    private final int[] parent;
+    // true if the children of the subtree must be swapped
+    private final boolean[] reversed;
+    private final double[] value;
+    // node with the minimum value in the splay subtree
+    private final int[] minNode;
+    // stack used to push down the flags before splaying
+    private final int[] stack;
+
+    /**
+     * Holds nodes from 0 to size-1, each one in its own tree with value +inf
+     *
+     * @param size number of nodes
+     */
+    public LinkCutTree(int size) {
+        this.left = new int[size];
+        this.right = new int[size];
+        this.parent = new int[size];
+        this.reversed = new boolean[size];
+        this.value = new double[size];
+        this.minNode = new int[size];
+        this.stack = new int[size];
+        for(int k=0; k < size; k++) {
+            left[k] = NIL;
+            right[k] = NIL;
+            parent[k] = NIL;
+            value[k] = Double.POSITIVE_INFINITY;
+            minNode[k] = k;
+        }
+    }
+
+    public double getValue(int x) {
+        return value[x];
+    }
+
+    public void setValue(int x, double v) { // O(log n) amortized
+        // make x the root of its splay tree so only its own aggregate changes
+        access(x);
+        splay(x);
+        value[x] = v;
+        pushUp(x);
+    }
+
+    /**
+     * Adds the edge (x, y). x and y must be in different trees.
+     */
+    public void link(int x, int y) { // O(log n) amortized
+        makeRoot(x);
+        parent[x] = y;
+    }
+
+    /**
+     * Removes the edge (x, y). The edge must exist.
+     */
+    public void cut(int x, int y) { // O(log n) amortized
+        makeRoot(x);
+        access(y);
+        splay(y);
+        // x is now the only node above y in the path
+        left[y] = NIL;
+        parent[x] = NIL;
+        pushUp(y);
+    }
+
+    public boolean connected(int x, int y) { // O(log n) amortized
+        return x == y || findRoot(x) == findRoot(y);
+    }
+
+    /**
+     * Returns the node with the minimum value in the path between x and y. x and y must be connected.
+     */
+    public int pathMin(int x, int y) { // O(log n) amortized
+        makeRoot(x);
+        access(y);
+        splay(y);
+        return minNode[y];
+    }
+
+    /**
+     * Returns the root of the tree of x
+     */
+    public int findRoot(int x) { // O(log n) amortized
+        access(x);
+        splay(x);
+        pushDown(x);
+        while(left[x] != NIL) {
+            x = left[x];
+            pushDown(x);
+        }
+        splay(x);
+        return x;
+    }
+
+    /**
+     * Makes x the root of its tree
+     */
+    private void makeRoot(int x) {
+        access(x);
+        splay(x);
+        reversed[x] = !reversed[x];
+    }
+
+    /**
+     * Makes the path from the root to x preferred, and x the last node in it
+     */
+    private void access(int x) {
+        int last = NIL;
+        for(int y = x; y != NIL; y = parent[y]) {
+            splay(y);
+            right[y] = last;
+            pushUp(y);
+            last = y;
+        }
+        splay(x);
+    }
+
+    private boolean isSplayRoot(int x) {
+        int p = parent[x];
+        return p == NIL || (left[p] != x && right[p] != x);
+    }
+
+    private void pushUp(int x) {
+        int min = x;
+        if(left[x] != NIL && value[minNode[left[x]]] < value[min])
+            min = minNode[left[x]];
+        if(right[x] != NIL && value[minNode[right[x]]] < value[min])
+            min = minNode[right[x]];
+        minNode[x] = min;
+    }
+
+    private void pushDown(int x) {
+        if(reversed[x]) {
+            int tmp = left[x];
+            left[x] = right[x];
+            right[x] = tmp;
+            if(left[x] != NIL)
+                reversed[left[x]] = !reversed[left[x]];
+            if(right[x] != NIL)
+                reversed[right[x]] = !reversed[right[x]];
+            reversed[x] = false;
+        }
+    }
+
+    private void rotate(int x) {
+        int p = parent[x];
+        int g = parent[p];
+        if(!isSplayRoot(p)) {
+            if(left[g] == p)
+                left[g] = x;
+            else
+                right[g] = x;
+        }
+        parent[x] = g;
+
+        if(left[p] == x) {
+            left[p] = right[x];
+            if(right[x] != NIL)
+                parent[right[x]] = p;
+            right[x] = p;
+        } else {
+            right[p] = left[x];
+            if(left[x] != NIL)
+                parent[left[x]] = p;
+            left[x] = p;
+        }
+        parent[p] = x;
+        pushUp(p);
+        pushUp(x);
+    }
+
+    private void splay(int x) {
+        // push down the flags from the root of the splay tree
+        int top = 0;
+        stack[top++] = x;
+        for(int y = x; !isSplayRoot(y); y = parent[y])
+            stack[top++] = parent[y];
+        while(top > 0)
+            pushDown(stack[--top]);
+
+        int p, g;
+        while(!isSplayRoot(x)) {
+            p = parent[x];
+            g = parent[p];
+            if(!isSplayRoot(p))
+                rotate((left[g] == p) == (left[p] == x) ? p : x);
+            rotate(x);
+        }
+    }
+
+    // TEST METHOD
+    public static void main(String[] arg)
+    {
+        // path 0 - 3 - 1 - 4 - 2 where nodes 3 and 4 are edges with values 5 and 2
+        LinkCutTree t = new LinkCutTree(5);
+        t.setValue(3, 5);
+        t.setValue(4, 2);
+        t.link(0, 3);
+        t.link(3, 1);
+        t.link(1, 4);
+        t.link(4, 2);
+        System.out.println(t.connected(0, 2) + " " + t.pathMin(0, 2) + " " + t.pathMin(0, 1));
+        t.cut(1, 4);
+        System.out.println(t.connected(0, 2) + " " + t.connected(0, 1));
+        t.link(4, 0);
+        t.setValue(4, 7);
+        System.out.println(t.connected(1, 2) + " " + t.pathMin(1, 2) + " " + t.findRoot(2));
+    }
+}
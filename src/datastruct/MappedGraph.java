@@ -0,0 +1,263 @@
+package datastruct;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Graph read directly from a memory-mapped binary file, without copying it into the heap.
+ *
+ * File format (little endian):
+ *  - header of HEADER_SIZE bytes: magic, version, number of vertices, number of half-edges
+ *  - offsets section: n+1 ints
+ *  - targets section: m ints
+ *  - padding up to a multiple of 8 bytes
+ *  - weights section: m doubles
+ *
+ * Each section is mapped in chunks of CHUNK_SIZE elements, since a single mapping is limited to 2GB.
+ */
+public final class MappedGraph implements Graph {
+    public static final int MAGIC = 0x4757424D; // "MBWG"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+
+    // elements per mapped chunk
+    private static final int CHUNK_SHIFT = 27;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final int nVertices;
+    private final int nEdges;
+    private final IntBuffer[] offsets;
+    private final IntBuffer[] targets;
+    private final DoubleBuffer[] weights;
+
+    private MappedGraph(int nVertices, int nEdges, IntBuffer[] offsets, IntBuffer[] targets, DoubleBuffer[] weights) {
+        this.nVertices = nVertices;
+        this.nEdges = nEdges;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Maps a graph file written by write.
+     * The mapping stays valid after the channel is closed. The size of the file must match the header, the
+     * offsets must go from 0 to m without decreasing and every target must be a vertex, so a truncated file or
+     * corrupted offsets and targets fail here instead of in the queries (weights are not checked). Checking the
+     * targets reads the whole targets section once.
+     *
+     * @param file path of the graph file
+     * @return graph backed by the mapped file
+     * @throws IOException if the file cannot be read or is not a valid graph file
+     */
+    public static MappedGraph open(Path file) throws IOException {
+        try(FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            // read and check header
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while(header.hasRemaining() && ch.read(header) != -1);
+            if(header.hasRemaining())
+                throw new IOException("Truncated graph header: " + file);
+            header.flip();
+            if(header.getInt() != MAGIC)
+                throw new IOException("Not a graph file: " + file);
+            int version = header.getInt();
+            if(version != VERSION)
+                throw new IOException("Unsupported graph file version " + version + ": " + file);
+            int n = header.getInt();
+            int m = header.getInt();
+            // n + 1 offsets must fit in an int
+            if(n < 0 || n == Integer.MAX_VALUE || m < 0)
+                throw new IOException("Corrupted graph header: " + file);
+
+            long offsetsPos = HEADER_SIZE;
+            long targetsPos = offsetsPos + 4L * (n + 1);
+            long weightsPos = align8(targetsPos + 4L * m);
+            long size = weightsPos + 8L * m;
+            if(ch.size() < size)
+                throw new IOException("Truncated graph file: " + file);
+            if(ch.size() > size)
+                throw new IOException("Graph file larger than its header says (" + ch.size() + " bytes instead of "
+                        + size + "): " + file);
+
+            MappedGraph g = new MappedGraph(n, m,
+                    mapInts(ch, offsetsPos, n + 1),
+                    mapInts(ch, targetsPos, m),
+                    mapDoubles(ch, weightsPos, m));
+            g.checkSections(file);
+            return g;
+        }
+    }
+
+    /**
+     * Checks that the offsets start at 0, end at m and never decrease, and that every target is in 0..n-1
+     */
+    private void checkSections(Path file) throws IOException { // O(n + m)
+        if(getStart(0) != 0 || getStart(nVertices) != nEdges)
+            throw new IOException("Corrupted graph offsets (first " + getStart(0) + ", last "
+                    + getStart(nVertices) + ", expected 0 and " + nEdges + "): " + file);
+        int prev = 0, next, t;
+        for(int v=1; v <= nVertices; v++) {
+            next = getStart(v);
+            if(next < prev)
+                throw new IOException("Corrupted graph offsets (decreasing at vertex " + v + "): " + file);
+            // targets of vertex v-1
+            for(int e = prev; e < next; e++) {
+                t = getTarget(e);
+                if(t < 0 || t >= nVertices)
+                    throw new IOException("Corrupted graph target " + t + " at edge " + e + ": " + file);
+            }
+            prev = next;
+        }
+    }
+
+    /**
+     * Writes a graph to a file in the format read by open
+     *
+     * @param g the graph to write
+     * @param file path of the graph file (overwritten if it exists)
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Graph g, Path file) throws IOException {
+        int n = g.getNumVertices();
+        int m = g.getNumEdges();
+        try(FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            // write through a fixed size buffer so the graph is never copied as a whole
+            ByteBuffer buf = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buf.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(m);
+
+            for(int k=0; k <= n; k++) {
+                if(buf.remaining() < 4)
+                    flush(ch, buf);
+                buf.putInt(k < n ? g.getStart(k) : m);
+            }
+            for(int e=0; e < m; e++) {
+                if(buf.remaining() < 4)
+                    flush(ch, buf);
+                buf.putInt(g.getTarget(e));
+            }
+            // padding so that the weights are aligned
+            long written = HEADER_SIZE + 4L * (n + 1) + 4L * m;
+            for(long k = written; k < align8(written); k++)
+                buf.put((byte) 0);
+            for(int e=0; e < m; e++) {
+                if(buf.remaining() < 8)
+                    flush(ch, buf);
+                buf.putDouble(g.getWeight(e));
+            }
+            flush(ch, buf);
+        }
+    }
+
+    private static void flush(FileChannel ch, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while(buf.hasRemaining())
+            ch.write(buf);
+        buf.clear();
+    }
+
+    private static long align8(long pos) {
+        return (pos + 7) & ~7L;
+    }
+
+    private static IntBuffer[] mapInts(FileChannel ch, long pos, int length) throws IOException {
+        IntBuffer[] chunks = new IntBuffer[Math.max(1, (int) (((long) length + CHUNK_MASK) >>> CHUNK_SHIFT))];
+        for(int k=0; k < chunks.length; k++) {
+            int size = Math.min(CHUNK_SIZE, length - k * CHUNK_SIZE);
+            chunks[k] = ch.map(FileChannel.MapMode.READ_ONLY, pos + 4L * k * CHUNK_SIZE, 4L * size)
+                    .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        }
+        return chunks;
+    }
+
+    private static DoubleBuffer[] mapDoubles(FileChannel ch, long pos, int length) throws IOException {
+        DoubleBuffer[] chunks = new DoubleBuffer[Math.max(1, (int) (((long) length + CHUNK_MASK) >>> CHUNK_SHIFT))];
+        for(int k=0; k < chunks.length; k++) {
+            int size = Math.min(CHUNK_SIZE, length - k * CHUNK_SIZE);
+            chunks[k] = ch.map(FileChannel.MapMode.READ_ONLY, pos + 8L * k * CHUNK_SIZE, 8L * size)
+                    .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        }
+        return chunks;
+    }
+
+    @Override
+    public int getNumVertices() {
+        return nVertices;
+    }
+
+    @Override
+    public int getNumEdges() {
+        return nEdges;
+    }
+
+    @Override
+    public int getStart(int v) {
+        return offsets[v >>> CHUNK_SHIFT].get(v & CHUNK_MASK);
+    }
+
+    @Override
+    public int getEnd(int v) {
+        return getStart(v + 1);
+    }
+
+    @Override
+    public int getTarget(int e) {
+        return targets[e >>> CHUNK_SHIFT].get(e & CHUNK_MASK);
+    }
+
+    @Override
+    public double getWeight(int e) {
+        return weights[e >>> CHUNK_SHIFT].get(e & CHUNK_MASK);
+    }
+
+    // TEST METHOD
+    public static void main(String[] arg) throws IOException
+    {
+        Path file = Files.createTempFile("graph", ".bin");
+        try {
+            Graph g = new CsrGraph.Builder(3).addEdge(0, 1, 5).addEdge(1, 2, 4).build();
+            write(g, file);
+            MappedGraph mapped = open(file);
+            System.out.println(mapped.getNumVertices() + " " + mapped.getNumEdges() + " " + mapped.getWeight(0));
+
+            // truncated, too long, with corrupted offsets and with corrupted targets
+            byte[] bytes = Files.readAllBytes(file);
+            byte[][] bad = {
+                    Arrays.copyOf(bytes, bytes.length - 8),
+                    Arrays.copyOf(bytes, bytes.length + 8),
+                    bytes.clone(),
+                    bytes.clone(),
+                    bytes.clone(),
+                    bytes.clone(),
+                    bytes.clone()
+            };
+            // offsets[0] = 1, offsets[n] = 3, offsets[1] = 4 > offsets[2]
+            ByteBuffer.wrap(bad[2]).order(ByteOrder.LITTLE_ENDIAN).putInt(HEADER_SIZE, 1);
+            ByteBuffer.wrap(bad[3]).order(ByteOrder.LITTLE_ENDIAN).putInt(HEADER_SIZE + 12, 3);
+            ByteBuffer.wrap(bad[4]).order(ByteOrder.LITTLE_ENDIAN).putInt(HEADER_SIZE + 4, 4);
+            // first target = n, last target = -1
+            int targetsPos = HEADER_SIZE + 4 * (mapped.getNumVertices() + 1);
+            ByteBuffer.wrap(bad[5]).order(ByteOrder.LITTLE_ENDIAN).putInt(targetsPos, 3);
+            ByteBuffer.wrap(bad[6]).order(ByteOrder.LITTLE_ENDIAN).putInt(targetsPos + 12, -1);
+            for(byte[] b : bad) {
+                Files.write(file, b);
+                try {
+                    open(file);
+                    System.out.println("corrupted file accepted");
+                } catch(IOException e) {
+                    System.out.println(e.getMessage());
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -2,7 +2,7 @@ package datastruct;
 
 import java.util.Arrays;
 
-public class MaxHeap {
+public class MaxHeap implements MaxPriorityQueue {
     // Heap array to store the order
     private final int[] heap;
     // Used to store the values of the elements in the heap.
@@ -40,24 +40,44 @@ public class MaxHeap {
      * Returns the maximum value element
      * @return maximum value element
      */
+    @Override
     public int max() { // O(1)
         if(isEmpty())
             throw new IndexOutOfBoundsException();
         return heap[0];
     }
 
+    @Override
     public boolean isEmpty() {
         return last < 0;
     }
 
+    /**
+     * Removes all the elements from the heap
+     * Positions and values are left as they are, they are overwritten when the elements are added again
+     */
+    @Override
+    public void clear() { // O(1)
+        last = -1;
+    }
+
+    /**
+     * Returns the number of elements in the heap
+     * @return number of elements
+     */
+    @Override
+    public int size() { // O(1)
+        return last + 1;
+    }
+
     /**
      * Return the value of element x.
      *
      * @param x the element whose value we want to get
      * @return The value of element x.
      */
+    @Override
     public double getValue(int x){
-        // imp check if x is in heap
         return values[x];
     }
 
@@ -65,6 +85,7 @@ public class MaxHeap {
      * Return the maximum value element and delete it from heap
      * @return maximum value element
      */
+    @Override
     public int pop() { // O(log n)
         int i = max();
         deleteIndex(0);
@@ -76,17 +97,28 @@ public class MaxHeap {
      *
      * @param x the element to insert
      */
+    @Override
     public void add(int x, double value) { // O(log n)
         if(x < 0 || x >= heap.length)
             throw new IndexOutOfBoundsException();
+        if(contains(x))
+            throw new IllegalArgumentException("Element " + x + " is already in the heap");
 
         // add element to end of heap
         last++;
         setElementHeap(x, last);
         values[x] = value;
         // fix the heap by making element "float up" to the right position
-        // variables are indices in heap
-        int idx = last;
+        floatUp(last);
+    }
+
+    /**
+     * Moves the element at index idx up until its parent is not smaller
+     *
+     * @param idx index in heap of the element
+     */
+    private void floatUp(int idx) { // O(log n)
+        double value = getValueIndex(idx);
         int parent = getParent(idx);
         while(idx > 0 && getValueIndex(parent) < value) {
             swap(parent, idx);
@@ -147,19 +179,21 @@ public class MaxHeap {
         return values[heap[idx]];
     }
 
-//    /**
-//     * It returns the position of the element at index x
-//     *
-//     * @param x the index of the element to be searched
-//     * @return The position of the element in the array.
-//     */
-//    private int getPosition(int x) {
-//        return position[x] - 1;//imp apply
-//    }
-
-//    private boolean isInHeap(int x) {
-//        //imp check if in heap
-//    }
+    /**
+     * Returns true if x is in the heap.
+     * Positions are not cleared when elements leave the heap, so x is in the heap only if its position
+     * is inside the heap and the heap has x at that position.
+     *
+     * @param x the element
+     * @return whether x is in the heap
+     */
+    @Override
+    public boolean contains(int x) { // O(1)
+        if(x < 0 || x >= position.length)
+            return false;
+        int idx = position[x];
+        return idx >= 0 && idx <= last && heap[idx] == x;
+    }
 
     /**
      * Delete the element at the given index.
@@ -169,7 +203,23 @@ public class MaxHeap {
     public void deleteElement(int x) { // O(log n)
         deleteIndex(position[x]);
     }
-    // imp check if element is in heap (position index 0 non existant + 1 exists)
+
+    /**
+     * Increases the value of element x
+     *
+     * @param x the element
+     * @param value new value of the element
+     */
+    @Override
+    public void increaseKey(int x, double value) { // O(log n)
+        if(!contains(x))
+            throw new IndexOutOfBoundsException();
+        if(value < values[x])
+            throw new IllegalArgumentException("New value is smaller than the current one");
+        // only the path to the root can be out of order, so float up in place
+        values[x] = value;
+        floatUp(position[x]);
+    }
 
     /**
      * Swap the elements at indices i1 and i2 in the heap
@@ -292,6 +342,28 @@ public class MaxHeap {
         System.out.println(heap.max());
         heap.deleteElement(5);
         System.out.println(heap.max());
+        System.out.println(heap.contains(5) + " " + heap.contains(3));
+        heap.increaseKey(1, 4.5);
+        System.out.println(heap.max());
+        // smaller values, elements not in the heap and elements added twice are rejected
+        try {
+            heap.increaseKey(3, 1);
+            System.out.println("smaller value accepted");
+        } catch(IllegalArgumentException e) {
+            System.out.println("smaller value rejected");
+        }
+        try {
+            heap.increaseKey(5, 7);
+            System.out.println("missing element accepted");
+        } catch(IndexOutOfBoundsException e) {
+            System.out.println("missing element rejected");
+        }
+        try {
+            heap.add(3, 8);
+            System.out.println("duplicate element accepted");
+        } catch(IllegalArgumentException e) {
+            System.out.println("duplicate element rejected");
+        }
         heap.add(5, 5);
         heap.add(0, 0);
         System.out.println(heap.max());
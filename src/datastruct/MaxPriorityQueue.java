@@ -0,0 +1,66 @@
+package datastruct;
+
+/**
+ * Max priority queue of the elements 0..size-1 with a double value each.
+ * Every element can be in the queue at most once. All implementations reject invalid calls the same way instead of
+ * breaking the queue: add of an element already in the queue and increaseKey with a smaller value throw
+ * IllegalArgumentException, increaseKey of an element not in the queue throws IndexOutOfBoundsException.
+ */
+public interface MaxPriorityQueue {
+    boolean isEmpty();
+
+    /**
+     * Returns the number of elements in the queue
+     * @return number of elements
+     */
+    int size();
+
+    /**
+     * Inserts a new element
+     *
+     * @param x the element to insert (not in the queue)
+     * @param value value of the element
+     */
+    void add(int x, double value);
+
+    /**
+     * Returns the maximum value element
+     * @return maximum value element
+     */
+    int max();
+
+    /**
+     * Return the maximum value element and delete it from the queue
+     * @return maximum value element
+     */
+    int pop();
+
+    /**
+     * Return the value of element x.
+     *
+     * @param x the element whose value we want to get
+     * @return The value of element x.
+     */
+    double getValue(int x);
+
+    /**
+     * Returns true if x is in the queue
+     *
+     * @param x the element
+     * @return whether x is in the queue
+     */
+    boolean contains(int x);
+
+    /**
+     * Increases the value of an element in the queue
+     *
+     * @param x the element (in the queue)
+     * @param value new value of the element (not smaller than the current one)
+     */
+    void increaseKey(int x, double value);
+
+    /**
+     * Removes all the elements from the queue
+     */
+    void clear();
+}
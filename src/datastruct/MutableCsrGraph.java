@@ -0,0 +1,76 @@
+package datastruct;
+
+/**
+ * CSR graph whose edge weights can be changed in place. The offsets and targets are shared with the CsrGraph it
+ * was created from (they never change), only the weights are its own.
+ * Not thread safe: algorithms running on the graph must not overlap with weight changes.
+ */
+public final class MutableCsrGraph implements Graph {
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+
+    MutableCsrGraph(int[] offsets, int[] targets, double[] weights) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Sets the weight of every edge between u and v (both half-edges of each)
+     *
+     * @param u first endpoint
+     * @param v second endpoint
+     * @param weight new weight of the edge
+     */
+    public void setWeight(int u, int v, double weight) { // O(deg(u) + deg(v))
+        boolean found = false;
+        for(int e = offsets[u]; e < offsets[u + 1]; e++) {
+            if(targets[e] == v) {
+                weights[e] = weight;
+                found = true;
+            }
+        }
+        if(!found)
+            throw new IllegalArgumentException("No edge between " + u + " and " + v);
+        for(int e = offsets[v]; e < offsets[v + 1]; e++) {
+            if(targets[e] == u)
+                weights[e] = weight;
+        }
+    }
+
+    @Override
+    public int getNumVertices() {
+        return offsets.length - 1;
+    }
+
+    @Override
+    public int getNumEdges() {
+        return targets.length;
+    }
+
+    @Override
+    public int getStart(int v) {
+        return offsets[v];
+    }
+
+    @Override
+    public int getEnd(int v) {
+        return offsets[v + 1];
+    }
+
+    @Override
+    public int getDegree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    @Override
+    public int getTarget(int e) {
+        return targets[e];
+    }
+
+    @Override
+    public double getWeight(int e) {
+        return weights[e];
+    }
+}
@@ -0,0 +1,195 @@
+package datastruct;
+
+import java.util.Arrays;
+
+/**
+ * Max pairing heap of the elements 0..size-1 stored in arrays.
+ * Each node keeps its leftmost child, its right sibling and the node before it (its left sibling, or its parent if
+ * it is the leftmost child). add and increaseKey are O(1), pop is O(log n) amortized.
+ */
+public class PairingMaxHeap implements MaxPriorityQueue {
+    private static final int NONE = -1;
+
+    private final double[] values;
+    private final int[] child;
+    private final int[] sibling;
+    private final int[] prev;
+    // scratch array for the subtrees merged in pop
+    private final int[] roots;
+    // elements in the heap have the current run, so clear only needs to start a new run
+    private final int[] run;
+    private int currentRun = 1;
+    private int root = NONE;
+    private int size = 0;
+
+    public PairingMaxHeap(int size) {
+        this.values = new double[size];
+        this.child = new int[size];
+        this.sibling = new int[size];
+        this.prev = new int[size];
+        this.roots = new int[size];
+        this.run = new int[size];
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() { // O(1)
+        root = NONE;
+        size = 0;
+        if(currentRun == Integer.MAX_VALUE) {
+            Arrays.fill(run, 0);
+            currentRun = 0;
+        }
+        currentRun++;
+    }
+
+    @Override
+    public int max() { // O(1)
+        if(isEmpty())
+            throw new IndexOutOfBoundsException();
+        return root;
+    }
+
+    @Override
+    public double getValue(int x) {
+        return values[x];
+    }
+
+    @Override
+    public void add(int x, double value) { // O(1)
+        if(x < 0 || x >= values.length)
+            throw new IndexOutOfBoundsException();
+        if(contains(x))
+            throw new IllegalArgumentException("Element " + x + " is already in the heap");
+        run[x] = currentRun;
+        values[x] = value;
+        child[x] = NONE;
+        sibling[x] = NONE;
+        prev[x] = NONE;
+        root = root == NONE ? x : meld(root, x);
+        size++;
+    }
+
+    @Override
+    public boolean contains(int x) { // O(1)
+        return x >= 0 && x < run.length && run[x] == currentRun;
+    }
+
+    @Override
+    public void increaseKey(int x, double value) { // O(1)
+        if(!contains(x))
+            throw new IndexOutOfBoundsException();
+        if(value < values[x])
+            throw new IllegalArgumentException("New value is smaller than the current one");
+        values[x] = value;
+        if(x == root)
+            return;
+        // cut the subtree of x and meld it with the root
+        if(child[prev[x]] == x)
+            child[prev[x]] = sibling[x];
+        else
+            sibling[prev[x]] = sibling[x];
+        if(sibling[x] != NONE)
+            prev[sibling[x]] = prev[x];
+        sibling[x] = NONE;
+        prev[x] = NONE;
+        root = meld(root, x);
+    }
+
+    @Override
+    public int pop() { // O(log n) amortized
+        int x = max();
+        size--;
+        run[x] = 0;
+
+        // first pass: meld the children in pairs from left to right
+        int count = 0;
+        int a = child[x], b, next;
+        while(a != NONE) {
+            b = sibling[a];
+            if(b == NONE) {
+                prev[a] = NONE;
+                roots[count++] = a;
+                break;
+            }
+            next = sibling[b];
+            roots[count++] = meld(a, b);
+            a = next;
+        }
+
+        // second pass: meld the pairs from right to left
+        root = NONE;
+        for(int k = count - 1; k >= 0; k--)
+            root = root == NONE ? roots[k] : meld(roots[k], root);
+        return x;
+    }
+
+    /**
+     * Links two roots, the one with the smaller value becomes the leftmost child of the other
+     *
+     * @return the new root
+     */
+    private int meld(int a, int b) {
+        if(values[b] > values[a]) {
+            int tmp = a;
+            a = b;
+            b = tmp;
+        }
+        // b becomes the leftmost child of a
+        sibling[b] = child[a];
+        if(child[a] != NONE)
+            prev[child[a]] = b;
+        prev[b] = a;
+        child[a] = b;
+        sibling[a] = NONE;
+        prev[a] = NONE;
+        return a;
+    }
+
+    // TEST METHOD
+    public static void main(String[] arg)
+    {
+        PairingMaxHeap heap = new PairingMaxHeap(6);
+        heap.add(5, 5);
+        heap.add(4, 4);
+        heap.add(3, 3);
+        heap.add(2, 2);
+        heap.add(1, 1);
+        System.out.println(heap.max());
+        heap.increaseKey(1, 6);
+        System.out.println(heap.max());
+        // smaller values and elements not in the heap are rejected
+        try {
+            heap.increaseKey(2, 1);
+            System.out.println("smaller value accepted");
+        } catch(IllegalArgumentException e) {
+            System.out.println("smaller value rejected");
+        }
+        try {
+            heap.increaseKey(0, 7);
+            System.out.println("missing element accepted");
+        } catch(IndexOutOfBoundsException e) {
+            System.out.println("missing element rejected");
+        }
+        try {
+            heap.add(3, 8);
+            System.out.println("duplicate element accepted");
+        } catch(IllegalArgumentException e) {
+            System.out.println("duplicate element rejected");
+        }
+        System.out.println(heap.contains(1) + " " + heap.contains(0));
+        heap.add(0, 0);
+        while(!heap.isEmpty())
+            System.out.print(heap.pop() + " ");
+        System.out.println();
+    }
+}
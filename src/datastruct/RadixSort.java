@@ -0,0 +1,80 @@
+package datastruct;
+
+import java.util.Arrays;
+
+/**
+ * LSD radix sort for doubles, sorting the indices of the values in O(n) (8 passes of 8 bits).
+ * Each double is mapped to a long whose unsigned order is the order of the doubles, and the sort is stable,
+ * so equal values keep the order of their indices.
+ */
+public class RadixSort {
+    private static final int BITS = 8;
+    private static final int BUCKETS = 1 << BITS;
+    private static final int MASK = BUCKETS - 1;
+
+    /**
+     * Sort the array using LSD radix sort
+     *
+     * @param values the array of values to sort
+     * @param length number of values to sort (from index 0)
+     * @param asc true if you want the array to be sorted in ascending order, false if you want it to be sorted in
+     * descending order.
+     * @return The indices of the given array sorted
+     */
+    public static int[] sort(double[] values, int length, boolean asc) { // O(n)
+        long[] keys = new long[length];
+        int[] sorted = new int[length];
+        long bits;
+        for(int k=0; k < length; k++) {
+            // flip all the bits of negative numbers and the sign bit of positive ones
+            bits = Double.doubleToLongBits(values[k]);
+            keys[k] = bits ^ ((bits >> 63) | Long.MIN_VALUE);
+            if(!asc)
+                keys[k] = ~keys[k];
+            sorted[k] = k;
+        }
+
+        long[] tmpKeys = new long[length];
+        int[] tmpSorted = new int[length];
+        int[] count = new int[BUCKETS];
+        int digit;
+        for(int shift = 0; shift < 64; shift += BITS) {
+            Arrays.fill(count, 0);
+            for(int k=0; k < length; k++)
+                count[(int) (keys[k] >>> shift) & MASK]++;
+            // skip the pass if all the keys have the same digit
+            if(length == 0 || count[(int) (keys[0] >>> shift) & MASK] == length)
+                continue;
+
+            // start position of each digit
+            int sum = 0, c;
+            for(int b=0; b < BUCKETS; b++) {
+                c = count[b];
+                count[b] = sum;
+                sum += c;
+            }
+            for(int k=0; k < length; k++) {
+                digit = (int) (keys[k] >>> shift) & MASK;
+                tmpKeys[count[digit]] = keys[k];
+                tmpSorted[count[digit]++] = sorted[k];
+            }
+
+            long[] swapKeys = keys;
+            keys = tmpKeys;
+            tmpKeys = swapKeys;
+            int[] swapSorted = sorted;
+            sorted = tmpSorted;
+            tmpSorted = swapSorted;
+        }
+        return sorted;
+    }
+
+    // TEST METHOD
+    public static void main(String[] arg)
+    {
+        double[] test = {3,4,2,0,1,-1.5,4};
+        System.out.println("Solution asc: 5,3,4,2,0,1,6");
+        System.out.println(Arrays.toString(sort(test, test.length, true)));
+        System.out.println(Arrays.toString(sort(test, test.length, false)));
+    }
+}
@@ -0,0 +1,44 @@
+package datastruct;
+
+/**
+ * Sparse table for range minimum queries over a static array of doubles.
+ * Level k stores the minimum of every range of length 2^k, so any range is covered by two overlapping ranges of
+ * the same level. Building takes O(n log n) time and memory, queries take O(1).
+ */
+public class SparseTable {
+    // table[k][i] = min(values[i .. i + 2^k - 1])
+    private final double[][] table;
+
+    public SparseTable(double[] values) {
+        int n = values.length;
+        int levels = n == 0 ? 1 : log2(n) + 1;
+        table = new double[levels][];
+        table[0] = values.clone();
+        for(int k=1; k < levels; k++) {
+            int half = 1 << (k - 1);
+            double[] prev = table[k - 1];
+            double[] cur = new double[n - (1 << k) + 1];
+            for(int i=0; i < cur.length; i++)
+                cur[i] = prev[i] < prev[i + half] ? prev[i] : prev[i + half];
+            table[k] = cur;
+        }
+    }
+
+    /**
+     * Returns the minimum value in the range [from, to)
+     *
+     * @param from first index of the range
+     * @param to index after the last element of the range (larger than from)
+     * @return minimum value in the range
+     */
+    public double min(int from, int to) { // O(1)
+        int k = log2(to - from);
+        double a = table[k][from];
+        double b = table[k][to - (1 << k)];
+        return a < b ? a : b;
+    }
+
+    private static int log2(int x) {
+        return 31 - Integer.numberOfLeadingZeros(x);
+    }
+}
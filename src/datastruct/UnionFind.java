@@ -33,15 +33,19 @@ public class UnionFind {
      *
      * @param r1 the root of the first tree
      * @param r2 the root of the second tree
+     * @return the root of the merged tree
      */
-    public void union(int r1, int r2) {
-        if(rank[r1] > rank[r2])
+    public int union(int r1, int r2) {
+        if(rank[r1] > rank[r2]) {
             dad[r2] = r1;
-        else if(rank[r1] < rank[r2])
+            return r1;
+        } else if(rank[r1] < rank[r2]) {
             dad[r1] = r2;
-        else {
+            return r2;
+        } else {
             dad[r1] = r2;
             rank[r2]++;
+            return r2;
         }
     }
 
@@ -53,23 +57,18 @@ public class UnionFind {
      * @param x the node we want to find the root of
      * @return The root of the tree
      */
-    public int find(int x) {
-        // array containing visited nodes for path compression
-        int[] s = new int[dad.length];
-        // last valid index of array s
-        int last = -1;
+    public int find(int x) { // O(log n), amortized O(α(n))
         // find the root of the tree for x by iterating over array dad
         int r = x;
-        while(dad[r] != ROOT) {
-            last++;
-            s[last] = r;
+        while(dad[r] != ROOT)
             r = dad[r];
-        }
 
-        // path compression (set as children of root) with the visited nodes
-        while(last >= 0) {
-            dad[s[last]] = r;
-            last--;
+        // path compression (set as children of root), walking the path again instead of storing it
+        int next;
+        while(x != r) {
+            next = dad[x];
+            dad[x] = r;
+            x = next;
         }
 
         // return the root of the tree
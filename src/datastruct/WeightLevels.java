@@ -0,0 +1,72 @@
+package datastruct;
+
+import java.util.Arrays;
+
+/**
+ * Quantization of the edge weights of a graph that has few distinct weights.
+ * The distinct weights are sorted in ascending order and every half-edge stores the index (level) of its weight,
+ * so comparing levels is the same as comparing weights.
+ */
+public final class WeightLevels {
+    // distinct weights in ascending order
+    private final double[] levels;
+    // level of each half-edge
+    private final int[] edgeLevel;
+
+    private WeightLevels(double[] levels, int[] edgeLevel) {
+        this.levels = levels;
+        this.edgeLevel = edgeLevel;
+    }
+
+    /**
+     * Computes the weight levels of a graph
+     *
+     * @param g the graph
+     * @param maxLevels maximum number of distinct weights
+     * @return the levels, or null if the graph has more than maxLevels distinct weights
+     */
+    public static WeightLevels of(Graph g, int maxLevels) { // O(m log K)
+        int m = g.getNumEdges();
+        // sorted distinct weights found so far
+        double[] distinct = new double[Math.max(1, Math.min(maxLevels, m))];
+        int count = 0;
+        int idx;
+        double w;
+        for(int e=0; e < m; e++) {
+            w = g.getWeight(e);
+            idx = Arrays.binarySearch(distinct, 0, count, w);
+            if(idx >= 0)
+                continue;
+            // new weight, insert it keeping the array sorted
+            if(count == maxLevels)
+                return null;
+            idx = -idx - 1;
+            System.arraycopy(distinct, idx, distinct, idx + 1, count - idx);
+            distinct[idx] = w;
+            count++;
+        }
+
+        double[] levels = Arrays.copyOf(distinct, count);
+        int[] edgeLevel = new int[m];
+        for(int e=0; e < m; e++)
+            edgeLevel[e] = Arrays.binarySearch(levels, g.getWeight(e));
+        return new WeightLevels(levels, edgeLevel);
+    }
+
+    /**
+     * Returns the number of distinct weights
+     *
+     * @return number of levels
+     */
+    public int size() {
+        return levels.length;
+    }
+
+    public int getLevel(int e) {
+        return edgeLevel[e];
+    }
+
+    public double getWeight(int level) {
+        return levels[level];
+    }
+}